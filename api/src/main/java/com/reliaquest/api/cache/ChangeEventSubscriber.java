@@ -0,0 +1,116 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeChangeOutput;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * Keeps one server-sent-event connection to the mock server's {@code /events} stream open and feeds what it receives
+ * into the {@link EmployeeCache}.
+ *
+ * <p>Every connection resumes from the cache's own position in the server's change history via {@code Last-Event-ID},
+ * so changes made while it was down are replayed before live ones. Dropped connections are re-established with
+ * exponential backoff, and a stream the server ends is reopened after the minimum backoff. Events are handled in order
+ * on a worker thread, never on the connection's event loop.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.employees.push.enabled", havingValue = "true")
+public class ChangeEventSubscriber {
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    static final String RESYNC_EVENT = "resync";
+
+    private static final ParameterizedTypeReference<ServerSentEvent<EmployeeChangeOutput>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final EmployeeCache employeeCache;
+    private final WebClient webClient;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+
+    private Disposable subscription;
+
+    @Autowired
+    public ChangeEventSubscriber(
+            EmployeeCache employeeCache,
+            WebClient.Builder webClientBuilder,
+            @Value("${server.api.base-url}") String serverBaseUrl,
+            @Value("${cache.employees.push.min-backoff:1s}") Duration minBackoff,
+            @Value("${cache.employees.push.max-backoff:30s}") Duration maxBackoff) {
+        this.employeeCache = employeeCache;
+        this.webClient = webClientBuilder.baseUrl(serverBaseUrl).build();
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @PostConstruct
+    void start() {
+        subscription = Flux.defer(this::connect)
+                .repeatWhen(completed -> completed.delayElements(minBackoff))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.debug(
+                                "Employee change stream dropped, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(this::onEvent);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Flux<ServerSentEvent<EmployeeChangeOutput>> connect() {
+        // Finding the resume point may load the snapshot, which blocks.
+        return Mono.fromCallable(employeeCache::resumeEventId)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(resumeFrom -> webClient
+                        .get()
+                        .uri("/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .headers(headers -> resumeFrom.ifPresent(id -> headers.set(LAST_EVENT_ID_HEADER, id)))
+                        .retrieve()
+                        .bodyToFlux(EVENT_TYPE));
+    }
+
+    void onEvent(ServerSentEvent<EmployeeChangeOutput> event) {
+        try {
+            if (RESYNC_EVENT.equals(event.event())) {
+                log.debug("Employee change stream cannot resume, reloading the cache");
+                employeeCache.onRemoteResync();
+            } else if (event.data() == null) {
+                employeeCache.onRemoteHeartbeat();
+            } else {
+                employeeCache.onRemoteChange(epochOf(event.id()), event.data());
+            }
+        } catch (RuntimeException ex) {
+            // The cache no longer lets heartbeats renew its snapshot, so the scheduled refresh recovers this change.
+            log.warn("Failed to apply pushed employee change {}: {}", event.id(), ex.getMessage());
+        }
+    }
+
+    private static String epochOf(String eventId) {
+        int separator = eventId == null ? -1 : eventId.lastIndexOf('-');
+        return separator < 0 ? "" : eventId.substring(0, separator);
+    }
+}
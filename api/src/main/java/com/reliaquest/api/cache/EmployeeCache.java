@@ -0,0 +1,672 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeListing;
+import com.reliaquest.api.client.EmployeeSearch;
+import com.reliaquest.api.client.ServerApiClient;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.ChangeFeedServerResponse;
+import com.reliaquest.api.model.EmployeeChangeOutput;
+import com.reliaquest.api.model.EmployeeOutput;
+import com.reliaquest.api.model.EmployeeStatsOutput;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Versioned in-memory copy of the upstream employee list.
+ *
+ * <p>Reads are served from the current {@link EmployeeSnapshot}. A snapshot younger than {@code ttl} is returned as
+ * is; an older one is still returned while a single background refresh is started (stale-while-revalidate), up to
+ * {@code maxStale}, after which the caller waits for a fresh copy. A scheduled task refreshes expired snapshots so that
+ * steady read traffic rarely reaches the mock server. Successful creates and deletes are written through so the
+ * snapshot reflects them immediately. Write-throughs are collected and folded into a new snapshot by the next read
+ * that needs one, so a burst of writes costs one copy of the list rather than one per write.
+ *
+ * <p>Once a listing has been loaded, refreshes catch up through the server's change feed: only the creates and deletes
+ * since the snapshot's server version are fetched and applied. A full reload happens when the feed no longer reaches
+ * back that far. Full reloads are conditional on the ETag of the last fetched listing, so while nothing has been
+ * written through since, a 304 from the server just renews the current snapshot.
+ *
+ * <p>When a {@link ChangeEventSubscriber} is running, changes pushed by the server are applied as they arrive and its
+ * heartbeats keep the snapshot fresh, so the scheduled refresh only has work to do while the stream is down.
+ *
+ * <p>Secondary indexes are rebuilt when a fetched snapshot is installed and patched on every write-through, so
+ * aggregate queries never scan the snapshot. While there is no snapshot that could be served without waiting,
+ * aggregate queries and name searches are answered by the server instead, and the snapshot loads in the background.
+ */
+@Slf4j
+@Component
+public class EmployeeCache {
+
+    static final int TOP_EARNERS = 10;
+    static final int CHANGE_PAGE_SIZE = 500;
+
+    private final ServerApiClient serverApiClient;
+    private final Duration ttl;
+    private final Duration maxStale;
+    private final Duration refreshInterval;
+    private final Clock clock;
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    // Write-throughs applied while a refresh is in flight; re-applied on top of the fetched list.
+    private final List<LocalWrite> writesDuringRefresh = new ArrayList<>();
+    private boolean refreshInFlight;
+
+    private final SalaryIndex salaryIndex = new SalaryIndex(TOP_EARNERS);
+    private final NameIndex nameIndex = new NameIndex();
+    private final List<EmployeeIndex> indexes = List.of(salaryIndex, nameIndex);
+
+    private volatile EmployeeSnapshot snapshot;
+    // Write-throughs not yet folded into the snapshot, netted so that later writes win. Guarded by writeLock.
+    private final Map<String, EmployeeOutput> pendingCreated = new LinkedHashMap<>();
+    private final Set<String> pendingDeleted = new HashSet<>();
+    private int pendingWriteCount;
+    private volatile boolean writesPending;
+    // Server ETag the snapshot's contents match, or null once a write-through has diverged from it.
+    private volatile String upstreamEtag;
+    // Server store version and run the snapshot has caught up to, for the change feed. Write-throughs are applied
+    // again when the feed replays them, which leaves the snapshot unchanged, so they do not reset these.
+    private volatile Long upstreamVersion;
+    private volatile String upstreamEpoch;
+    // Newest server version the push stream has announced in this epoch. Until the snapshot reaches it, a change was
+    // pushed that could not be applied, and heartbeats must not vouch for the snapshot.
+    private volatile long pushedUpTo;
+
+    @Autowired
+    public EmployeeCache(
+            ServerApiClient serverApiClient,
+            @Value("${cache.employees.ttl:30s}") Duration ttl,
+            @Value("${cache.employees.max-stale:5m}") Duration maxStale,
+            @Value("${cache.employees.refresh-interval:10s}") Duration refreshInterval) {
+        this(serverApiClient, ttl, maxStale, refreshInterval, Clock.systemUTC());
+    }
+
+    EmployeeCache(
+            ServerApiClient serverApiClient, Duration ttl, Duration maxStale, Duration refreshInterval, Clock clock) {
+        if (maxStale.compareTo(ttl) < 0) {
+            throw new IllegalArgumentException("cache.employees.max-stale must not be shorter than the ttl");
+        }
+        this.serverApiClient = serverApiClient;
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void startBackgroundRefresh() {
+        long periodMillis = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshIfExpired, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        log.debug("Employee cache refreshing every {} with ttl {} and max-stale {}", refreshInterval, ttl, maxStale);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Returns the current snapshot, loading or refreshing it according to its age.
+     */
+    public EmployeeSnapshot getSnapshot() {
+        EmployeeSnapshot current = settled();
+        if (current == null) {
+            return load(null);
+        }
+        Duration age = current.age(clock.instant());
+        if (age.compareTo(ttl) < 0) {
+            return current;
+        }
+        if (age.compareTo(maxStale) < 0) {
+            refreshInBackground();
+            return current;
+        }
+        log.debug("Employee snapshot v{} is {} old, refreshing before serving", current.version(), age);
+        return load(current);
+    }
+
+    public List<EmployeeOutput> getEmployees() {
+        return getSnapshot().employees();
+    }
+
+    /**
+     * Served from the salary index. While the cache is cold the server computes it instead, see {@link #whileCold}.
+     */
+    public int getHighestSalary() {
+        Optional<Integer> pushedDown = whileCold(() -> {
+            EmployeeStatsOutput stats = serverApiClient.getEmployeeStats().getData();
+            if (stats == null) {
+                return null;
+            }
+            return stats.getMaxSalary() == null ? 0 : stats.getMaxSalary();
+        });
+        if (pushedDown.isPresent()) {
+            return pushedDown.get();
+        }
+        getSnapshot();
+        return salaryIndex.getHighestSalary();
+    }
+
+    /**
+     * Served from the salary index. While the cache is cold the server ranks them instead, see {@link #whileCold}.
+     */
+    public List<String> getTopEarnerNames() {
+        Optional<List<String>> pushedDown = whileCold(() -> {
+            List<EmployeeOutput> top = serverApiClient.getTopEarners(TOP_EARNERS).getData();
+            return top == null ? null : top.stream().map(EmployeeOutput::getName).toList();
+        });
+        if (pushedDown.isPresent()) {
+            return pushedDown.get();
+        }
+        getSnapshot();
+        return salaryIndex.getTopNames();
+    }
+
+    /**
+     * Case-insensitive substring match on employee names, in snapshot order. While the cache is cold the filter runs
+     * on the server instead, see {@link #whileCold}.
+     */
+    public List<EmployeeOutput> searchByName(String searchString) {
+        Optional<List<EmployeeOutput>> pushedDown = whileCold(() ->
+                serverApiClient.searchEmployees(EmployeeSearch.byName(searchString)).getData());
+        if (pushedDown.isPresent()) {
+            return pushedDown.get();
+        }
+        getSnapshot();
+        return nameIndex.search(searchString);
+    }
+
+    /**
+     * Looks an employee up in whatever snapshot is already held, without ever calling upstream.
+     */
+    public Optional<EmployeeOutput> peekById(String id) {
+        EmployeeSnapshot current = settled();
+        return current == null ? Optional.empty() : Optional.ofNullable(current.byId().get(id));
+    }
+
+    public void onCreated(EmployeeOutput employee) {
+        writeLock.lock();
+        try {
+            if (refreshInFlight) {
+                writesDuringRefresh.add(new LocalWrite(employee.getId(), employee));
+            }
+            upstreamEtag = null;
+            if (snapshot != null) {
+                if (employee.getId() == null) {
+                    log.debug("Not caching created employee without an id: {}", employee);
+                    return;
+                }
+                stageCreated(employee);
+                pendingWriteCount++;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void onDeleted(String id) {
+        writeLock.lock();
+        try {
+            if (refreshInFlight) {
+                writesDuringRefresh.add(new LocalWrite(id, null));
+            }
+            upstreamEtag = null;
+            if (snapshot != null && stageDeleted(id)) {
+                pendingWriteCount++;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Where a server-sent change stream should resume so that it continues exactly from the held snapshot, loading
+     * the snapshot first if needed. Empty if the server does not report its store version.
+     */
+    public Optional<String> resumeEventId() {
+        getSnapshot();
+        Long version = upstreamVersion;
+        String epoch = upstreamEpoch;
+        return version == null || epoch == null ? Optional.empty() : Optional.of(epoch + "-" + version);
+    }
+
+    /**
+     * Applies a change pushed by the server. Like a write-through, it is folded into the snapshot by the next read.
+     * Changes the snapshot already contains are ignored, and a gap in the sequence is filled from the change feed
+     * before anything else is applied. If that fails, heartbeats stop renewing the snapshot until a later refresh has
+     * caught up past this change.
+     */
+    public void onRemoteChange(String epoch, EmployeeChangeOutput change) {
+        refreshLock.lock();
+        try {
+            Long version = upstreamVersion;
+            if (snapshot == null || version == null || !epoch.equals(upstreamEpoch)) {
+                // Not loaded yet, or from another run of the server, which is followed by a resync.
+                return;
+            }
+            if (change.getSequence() <= version) {
+                return;
+            }
+            pushedUpTo = Math.max(pushedUpTo, change.getSequence());
+            if (change.getSequence() > version + 1) {
+                log.debug("Pushed change v{} skips past v{}, catching up", change.getSequence(), version);
+                refresh();
+                return;
+            }
+            applyRemote(List.of(LocalWrite.of(change)), change.getSequence());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * The server can no longer replay what the push stream missed, so the snapshot is reloaded in full.
+     */
+    public void onRemoteResync() {
+        refreshLock.lock();
+        try {
+            upstreamVersion = null;
+            upstreamEtag = null;
+            reload();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * The push stream is alive and has delivered every change up to now, so a snapshot it keeps in step stays fresh.
+     * A snapshot that has not caught up with every pushed change is left to age and be refreshed.
+     */
+    public void onRemoteHeartbeat() {
+        writeLock.lock();
+        try {
+            EmployeeSnapshot current = snapshot;
+            Long version = upstreamVersion;
+            if (current != null && version != null && version >= pushedUpTo) {
+                snapshot = current.revalidated(clock.instant());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void refreshIfExpired() {
+        try {
+            EmployeeSnapshot current = snapshot;
+            if (current == null || current.age(clock.instant()).compareTo(ttl) >= 0) {
+                load(current);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Background refresh of employee snapshot failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * When no snapshot could be served without waiting for the full listing, answers with {@code query} against the
+     * server and loads the snapshot in the background for later calls. Empty if the cache is warm, or if the call to
+     * the server failed or was throttled, in which case the caller falls back to loading the snapshot.
+     */
+    private <T> Optional<T> whileCold(Supplier<T> query) {
+        EmployeeSnapshot current = snapshot;
+        if (current != null && current.age(clock.instant()).compareTo(maxStale) < 0) {
+            return Optional.empty();
+        }
+        refreshInBackground();
+        try {
+            return Optional.ofNullable(query.get());
+        } catch (RestClientException | TooManyRequestsException ex) {
+            log.debug("Server could not answer the query, loading the snapshot: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!refreshQueued.compareAndSet(false, true)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                load(snapshot);
+            } catch (RuntimeException ex) {
+                log.warn(
+                        "Revalidation of employee snapshot failed, continuing to serve stale data: {}",
+                        ex.getMessage());
+            } finally {
+                refreshQueued.set(false);
+            }
+        });
+    }
+
+    /**
+     * Fetches a new snapshot unless another thread already refreshed past {@code seen} while this one waited.
+     */
+    private EmployeeSnapshot load(EmployeeSnapshot seen) {
+        refreshLock.lock();
+        try {
+            EmployeeSnapshot current = snapshot;
+            if (current != null && (seen == null || current.fetchedAt().isAfter(seen.fetchedAt()))) {
+                return settled();
+            }
+            return refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Catches up through the server's change feed when the held snapshot's server version is known, and falls back to
+     * the full listing when the feed no longer reaches back that far.
+     */
+    private EmployeeSnapshot refresh() {
+        Long since = upstreamVersion;
+        if (snapshot != null && since != null) {
+            EmployeeSnapshot caughtUp = catchUp(since);
+            if (caughtUp != null) {
+                return caughtUp;
+            }
+            log.debug("Change feed no longer reaches v{}, reloading the full employee listing", since);
+        }
+        return reload();
+    }
+
+    /**
+     * Applies the creates and deletes since server version {@code since} to the held snapshot. Only the changes are
+     * transferred and parsed, and the indexes are patched rather than rebuilt. Returns null if a full reload is needed
+     * instead.
+     */
+    private EmployeeSnapshot catchUp(long since) {
+        beginRefresh();
+        List<LocalWrite> changes = new ArrayList<>();
+        long reached = since;
+        try {
+            while (true) {
+                Optional<ChangeFeedServerResponse> page =
+                        serverApiClient.getChangesSince(reached, upstreamEpoch, CHANGE_PAGE_SIZE);
+                if (page.isEmpty()) {
+                    endRefresh();
+                    return null;
+                }
+                List<EmployeeChangeOutput> data = page.get().getData() == null ? List.of() : page.get().getData();
+                for (EmployeeChangeOutput change : data) {
+                    changes.add(LocalWrite.of(change));
+                }
+                reached = page.get().getVersion();
+                if (data.size() < CHANGE_PAGE_SIZE) {
+                    break;
+                }
+                if (changes.size() > snapshot.employees().size()) {
+                    // Further behind than the dataset is large: the full listing is the cheaper catch-up.
+                    endRefresh();
+                    return null;
+                }
+            }
+        } catch (RuntimeException ex) {
+            endRefresh();
+            throw ex;
+        }
+
+        applyRemote(changes, reached);
+        log.debug("Caught employee snapshot up from server v{} to v{} with {} changes", since, reached, changes.size());
+        return settled();
+    }
+
+    /**
+     * Stages changes read from the server, which take the snapshot up to server version {@code reached}, followed by
+     * any local writes made while they were being read, since those may be newer. Together they move the snapshot on
+     * by one version when the next read folds them in. Creates the snapshot already holds are the server's echo of our
+     * own write-throughs and are skipped, so they cost no copy at all.
+     */
+    private void applyRemote(List<LocalWrite> changes, long reached) {
+        writeLock.lock();
+        try {
+            List<LocalWrite> writes = new ArrayList<>(changes);
+            writes.addAll(writesDuringRefresh);
+            boolean changed = false;
+            for (LocalWrite write : writes) {
+                if (write.employee() == null) {
+                    changed |= stageDeleted(write.id());
+                } else if (write.id() != null && pendingOrHeld(write.id()) == null) {
+                    stageCreated(write.employee());
+                    changed = true;
+                }
+            }
+            if (changed) {
+                pendingWriteCount++;
+            }
+            snapshot = snapshot.revalidated(clock.instant());
+            upstreamVersion = reached;
+            upstreamEtag = null;
+            refreshInFlight = false;
+            writesDuringRefresh.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private EmployeeSnapshot reload() {
+        beginRefresh();
+        List<EmployeeOutput> fetched = new ArrayList<>();
+        String etag = snapshot == null ? null : upstreamEtag;
+        EmployeeListing listing;
+        try {
+            // Rows go straight from the parser into the snapshot list, without a response object in between.
+            listing = serverApiClient.forEachEmployee(etag, fetched::add);
+        } catch (RuntimeException ex) {
+            endRefresh();
+            throw ex;
+        }
+
+        writeLock.lock();
+        try {
+            if (listing != null && listing.notModified()) {
+                // Anything written through meanwhile is already in the held snapshot or pending for it.
+                foldPendingWrites();
+                EmployeeSnapshot revalidated = snapshot.revalidated(clock.instant());
+                snapshot = revalidated;
+                if (listing.version() != null) {
+                    upstreamVersion = listing.version();
+                }
+                refreshInFlight = false;
+                writesDuringRefresh.clear();
+                log.debug("Employee snapshot v{} revalidated by the server", revalidated.version());
+                return revalidated;
+            }
+
+            Map<String, EmployeeOutput> created = new LinkedHashMap<>();
+            Set<String> deleted = new HashSet<>();
+            net(writesDuringRefresh, created, deleted);
+            List<EmployeeOutput> employees = new ArrayList<>(fetched.size() + created.size());
+            for (EmployeeOutput employee : fetched) {
+                String id = employee.getId();
+                if (id != null && deleted.contains(id)) {
+                    continue;
+                }
+                if (id != null) {
+                    created.remove(id);
+                }
+                employees.add(employee);
+            }
+            employees.addAll(created.values());
+
+            // Earlier pending writes are in the fetched listing, later ones in writesDuringRefresh.
+            discardPendingWrites();
+            EmployeeSnapshot current = snapshot;
+            long nextVersion = current == null ? 1 : current.version() + 1;
+            EmployeeSnapshot next = EmployeeSnapshot.of(nextVersion, employees, clock.instant());
+            for (EmployeeIndex index : indexes) {
+                index.rebuild(next.employees());
+            }
+            snapshot = next;
+            upstreamEtag = writesDuringRefresh.isEmpty() && listing != null ? listing.etag() : null;
+            upstreamVersion = listing == null ? null : listing.version();
+            String epoch = listing == null ? null : listing.epoch();
+            if (epoch == null || !epoch.equals(upstreamEpoch)) {
+                // Versions pushed by an earlier run of the server say nothing about this one.
+                pushedUpTo = 0;
+            }
+            upstreamEpoch = epoch;
+            refreshInFlight = false;
+            writesDuringRefresh.clear();
+            log.debug("Refreshed employee snapshot to v{} with {} employees", nextVersion, employees.size());
+            return next;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * The snapshot with every write-through folded in.
+     */
+    private EmployeeSnapshot settled() {
+        if (!writesPending) {
+            return snapshot;
+        }
+        writeLock.lock();
+        try {
+            foldPendingWrites();
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the pending write-throughs to the snapshot in one copy. The version still moves on by one per write.
+     * Callers hold writeLock.
+     */
+    private void foldPendingWrites() {
+        if (pendingWriteCount == 0) {
+            return;
+        }
+        EmployeeSnapshot current = snapshot;
+        snapshot = current.withChanges(
+                current.version() + pendingWriteCount, pendingCreated, pendingDeleted, current.fetchedAt());
+        discardPendingWrites();
+    }
+
+    private void discardPendingWrites() {
+        pendingCreated.clear();
+        pendingDeleted.clear();
+        pendingWriteCount = 0;
+        writesPending = false;
+    }
+
+    /**
+     * Records {@code employee} as created, to be folded into the snapshot on the next read, and patches the indexes.
+     * It replaces any employee with the same id and moves to the end, as the server lists it. Callers hold writeLock.
+     */
+    private void stageCreated(EmployeeOutput employee) {
+        String id = employee.getId();
+        EmployeeOutput replaced = pendingOrHeld(id);
+        pendingDeleted.remove(id);
+        pendingCreated.remove(id);
+        pendingCreated.put(id, employee);
+        writesPending = true;
+        for (EmployeeIndex index : indexes) {
+            if (replaced != null) {
+                index.remove(replaced);
+            }
+            index.add(employee);
+        }
+    }
+
+    /**
+     * Records the employee with {@code id} as deleted, like {@link #stageCreated}. False if there is no such employee.
+     * Callers hold writeLock.
+     */
+    private boolean stageDeleted(String id) {
+        EmployeeOutput removed = pendingOrHeld(id);
+        if (removed == null) {
+            return false;
+        }
+        pendingCreated.remove(id);
+        pendingDeleted.add(id);
+        writesPending = true;
+        for (EmployeeIndex index : indexes) {
+            index.remove(removed);
+        }
+        return true;
+    }
+
+    /**
+     * The employee with {@code id} as write-throughs have left it, or null if there is none. Callers hold writeLock.
+     */
+    private EmployeeOutput pendingOrHeld(String id) {
+        if (pendingCreated.containsKey(id)) {
+            return pendingCreated.get(id);
+        }
+        return pendingDeleted.contains(id) ? null : snapshot.byId().get(id);
+    }
+
+    private void beginRefresh() {
+        writeLock.lock();
+        try {
+            refreshInFlight = true;
+            writesDuringRefresh.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void endRefresh() {
+        writeLock.lock();
+        try {
+            refreshInFlight = false;
+            writesDuringRefresh.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Folds {@code writes} into the employees they leave created and the ids they leave deleted, later writes winning.
+     */
+    private static void net(List<LocalWrite> writes, Map<String, EmployeeOutput> created, Set<String> deleted) {
+        for (LocalWrite write : writes) {
+            if (write.employee() == null) {
+                created.remove(write.id());
+                deleted.add(write.id());
+            } else if (write.id() != null) {
+                deleted.remove(write.id());
+                created.put(write.id(), write.employee());
+            }
+        }
+    }
+
+    private record LocalWrite(String id, EmployeeOutput employee) {
+
+        static LocalWrite of(EmployeeChangeOutput change) {
+            EmployeeOutput employee = change.getEmployee();
+            return change.getType() == EmployeeChangeOutput.Type.CREATED
+                    ? new LocalWrite(employee.getId(), employee)
+                    : new LocalWrite(employee.getId(), null);
+        }
+    }
+}
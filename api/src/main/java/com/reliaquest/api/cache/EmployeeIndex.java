@@ -0,0 +1,18 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeOutput;
+import java.util.List;
+
+/**
+ * Secondary structure kept in step with the {@link EmployeeCache} snapshot. Mutators are only ever called by the cache
+ * while it holds its write lock, so implementations need not guard them; query methods must be safe to call
+ * concurrently with a mutation.
+ */
+interface EmployeeIndex {
+
+    void rebuild(List<EmployeeOutput> employees);
+
+    void add(EmployeeOutput employee);
+
+    void remove(EmployeeOutput employee);
+}
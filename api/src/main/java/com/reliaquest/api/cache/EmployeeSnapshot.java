@@ -0,0 +1,58 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeOutput;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable point-in-time copy of the employee list held by {@link EmployeeCache}. The version increases with every
+ * refresh and every write-through, so callers can tell two snapshots apart without comparing their contents.
+ */
+public record EmployeeSnapshot(
+        long version, List<EmployeeOutput> employees, Map<String, EmployeeOutput> byId, Instant fetchedAt) {
+
+    public static EmployeeSnapshot of(long version, Collection<EmployeeOutput> employees, Instant fetchedAt) {
+        Map<String, EmployeeOutput> byId = new LinkedHashMap<>();
+        for (EmployeeOutput employee : employees) {
+            if (employee.getId() != null) {
+                byId.put(employee.getId(), employee);
+            }
+        }
+        return new EmployeeSnapshot(
+                version, List.copyOf(employees), Collections.unmodifiableMap(byId), fetchedAt);
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+
+    /**
+     * The same contents, confirmed current by the server at {@code now}.
+     */
+    EmployeeSnapshot revalidated(Instant now) {
+        return new EmployeeSnapshot(version, employees, byId, now);
+    }
+
+    /**
+     * Drops {@code deleted} and appends {@code created} in one pass, replacing any employee with the same id.
+     */
+    EmployeeSnapshot withChanges(
+            long nextVersion, Map<String, EmployeeOutput> created, Set<String> deleted, Instant fetchedAt) {
+        List<EmployeeOutput> next = new ArrayList<>(employees.size() + created.size());
+        for (EmployeeOutput existing : employees) {
+            String id = existing.getId();
+            if (id == null || (!deleted.contains(id) && !created.containsKey(id))) {
+                next.add(existing);
+            }
+        }
+        next.addAll(created.values());
+        return of(nextVersion, next, fetchedAt);
+    }
+}
@@ -0,0 +1,200 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeOutput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over case-folded employee names for substring search.
+ *
+ * <p>Each indexed employee gets a document id in snapshot order, and every trigram of its folded name maps to a sorted
+ * posting list of those ids. A query is answered by intersecting the posting lists of its own trigrams and verifying
+ * the few surviving candidates against the folded name, so matches come back in snapshot order. Queries shorter than a
+ * trigram fall back to a scan of the pre-folded names. Removed documents are tombstoned and compacted once they make
+ * up half of the index.
+ */
+class NameIndex implements EmployeeIndex {
+
+    private static final int GRAM = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<EmployeeOutput> documents = new ArrayList<>();
+    private final List<String> foldedNames = new ArrayList<>();
+    private final Map<EmployeeOutput, Integer> documentIds = new IdentityHashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int removed;
+
+    List<EmployeeOutput> search(String query) {
+        String folded = fold(query);
+        lock.readLock().lock();
+        try {
+            return folded.length() < GRAM ? scan(folded) : lookup(folded);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild(List<EmployeeOutput> employees) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (EmployeeOutput employee : employees) {
+                index(employee);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(EmployeeOutput employee) {
+        lock.writeLock().lock();
+        try {
+            index(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(EmployeeOutput employee) {
+        lock.writeLock().lock();
+        try {
+            Integer documentId = documentIds.remove(employee);
+            if (documentId == null) {
+                return;
+            }
+            documents.set(documentId, null);
+            foldedNames.set(documentId, null);
+            if (++removed * 2 > documents.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<EmployeeOutput> scan(String folded) {
+        List<EmployeeOutput> matches = new ArrayList<>();
+        for (int documentId = 0; documentId < foldedNames.size(); documentId++) {
+            String name = foldedNames.get(documentId);
+            if (name != null && name.contains(folded)) {
+                matches.add(documents.get(documentId));
+            }
+        }
+        return matches;
+    }
+
+    private List<EmployeeOutput> lookup(String folded) {
+        int gramCount = folded.length() - GRAM + 1;
+        Postings[] lists = new Postings[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            Postings list = postings.get(gram(folded, i));
+            if (list == null) {
+                return List.of();
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        List<EmployeeOutput> matches = new ArrayList<>();
+        Postings smallest = lists[0];
+        int[] cursors = new int[lists.length];
+        candidates:
+        for (int i = 0; i < smallest.size; i++) {
+            int documentId = smallest.ids[i];
+            for (int l = 1; l < lists.length; l++) {
+                cursors[l] = lists[l].seek(documentId, cursors[l]);
+                if (cursors[l] == lists[l].size) {
+                    break candidates;
+                }
+                if (lists[l].ids[cursors[l]] != documentId) {
+                    continue candidates;
+                }
+            }
+            String name = foldedNames.get(documentId);
+            if (name != null && name.contains(folded)) {
+                matches.add(documents.get(documentId));
+            }
+        }
+        return matches;
+    }
+
+    private void index(EmployeeOutput employee) {
+        int documentId = documents.size();
+        String folded = fold(employee.getName());
+        documents.add(employee);
+        foldedNames.add(folded);
+        documentIds.put(employee, documentId);
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            postings.computeIfAbsent(gram(folded, i), key -> new Postings()).append(documentId);
+        }
+    }
+
+    private void compact() {
+        List<EmployeeOutput> live = new ArrayList<>(documents.size() - removed);
+        for (EmployeeOutput document : documents) {
+            if (document != null) {
+                live.add(document);
+            }
+        }
+        clear();
+        for (EmployeeOutput employee : live) {
+            index(employee);
+        }
+    }
+
+    private void clear() {
+        documents.clear();
+        foldedNames.clear();
+        documentIds.clear();
+        postings.clear();
+        removed = 0;
+    }
+
+    private static String fold(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static long gram(String folded, int offset) {
+        return ((long) folded.charAt(offset) << 32)
+                | ((long) folded.charAt(offset + 1) << 16)
+                | folded.charAt(offset + 2);
+    }
+
+    /**
+     * Ascending, append-only list of document ids. Ids are handed out in increasing order, so appends keep it sorted.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void append(int documentId) {
+            if (size > 0 && ids[size - 1] == documentId) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = documentId;
+        }
+
+        /**
+         * Index of the first id not less than {@code documentId}, searching from {@code from}.
+         */
+        int seek(int documentId, int from) {
+            int index = Arrays.binarySearch(ids, from, size, documentId);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
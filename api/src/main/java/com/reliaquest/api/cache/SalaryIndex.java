@@ -0,0 +1,92 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Salary-ordered multiset of employees. Buckets keep insertion order, so ties are broken the same way as a stable sort
+ * of the snapshot. The highest salary and the names of the top earners are recomputed on mutation and published
+ * through volatile fields, making both queries O(1) and allocation free.
+ */
+class SalaryIndex implements EmployeeIndex {
+
+    private final int topSize;
+    private final TreeMap<Integer, List<EmployeeOutput>> bySalary = new TreeMap<>(Comparator.reverseOrder());
+
+    private volatile int highestSalary;
+    private volatile List<String> topNames = List.of();
+    private int lowestTopSalary;
+
+    SalaryIndex(int topSize) {
+        this.topSize = topSize;
+    }
+
+    int getHighestSalary() {
+        return highestSalary;
+    }
+
+    List<String> getTopNames() {
+        return topNames;
+    }
+
+    @Override
+    public void rebuild(List<EmployeeOutput> employees) {
+        bySalary.clear();
+        for (EmployeeOutput employee : employees) {
+            bySalary.computeIfAbsent(employee.getSalary(), salary -> new ArrayList<>(1))
+                    .add(employee);
+        }
+        publish();
+    }
+
+    @Override
+    public void add(EmployeeOutput employee) {
+        bySalary.computeIfAbsent(employee.getSalary(), salary -> new ArrayList<>(1))
+                .add(employee);
+        if (topNames.size() < topSize || employee.getSalary() > lowestTopSalary) {
+            publish();
+        }
+    }
+
+    @Override
+    public void remove(EmployeeOutput employee) {
+        List<EmployeeOutput> bucket = bySalary.get(employee.getSalary());
+        if (bucket == null || !bucket.removeIf(candidate -> sameEmployee(candidate, employee))) {
+            return;
+        }
+        if (bucket.isEmpty()) {
+            bySalary.remove(employee.getSalary());
+        }
+        if (employee.getSalary() >= lowestTopSalary) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        List<String> names = new ArrayList<>(topSize);
+        int lowest = 0;
+        fill:
+        for (List<EmployeeOutput> bucket : bySalary.values()) {
+            for (EmployeeOutput employee : bucket) {
+                if (names.size() == topSize) {
+                    break fill;
+                }
+                names.add(employee.getName());
+                lowest = employee.getSalary();
+            }
+        }
+        lowestTopSalary = lowest;
+        topNames = Collections.unmodifiableList(names);
+        highestSalary = bySalary.isEmpty() ? 0 : bySalary.firstKey();
+    }
+
+    private static boolean sameEmployee(EmployeeOutput candidate, EmployeeOutput employee) {
+        return candidate == employee
+                || (employee.getId() != null && Objects.equals(candidate.getId(), employee.getId()));
+    }
+}
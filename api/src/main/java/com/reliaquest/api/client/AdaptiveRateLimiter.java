@@ -0,0 +1,187 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.RequestShedException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client-side token bucket whose refill rate is learnt from the upstream server using AIMD: every successful call
+ * raises the rate by a fixed step, every 429 multiplies it down and pushes the next permit out. Callers that would
+ * have to wait longer than {@code maxWait}, or that arrive while {@code maxQueued} callers are already waiting, are
+ * shed locally with a {@link RequestShedException} instead of spending upstream budget.
+ */
+@Slf4j
+public class AdaptiveRateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double minRate;
+    private final double maxRate;
+    private final double increaseStep;
+    private final double decreaseFactor;
+    private final int burst;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double rate;
+    private long nextFreeNanos;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    public AdaptiveRateLimiter(
+            double initialRate,
+            double minRate,
+            double maxRate,
+            double increaseStep,
+            double decreaseFactor,
+            int burst,
+            int maxQueued,
+            Duration maxWait) {
+        this(initialRate, minRate, maxRate, increaseStep, decreaseFactor, burst, maxQueued, maxWait, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(
+            double initialRate,
+            double minRate,
+            double maxRate,
+            double increaseStep,
+            double decreaseFactor,
+            int burst,
+            int maxQueued,
+            Duration maxWait,
+            LongSupplier nanoClock) {
+        if (minRate <= 0 || minRate > maxRate || decreaseFactor <= 0 || decreaseFactor >= 1 || burst < 1) {
+            throw new IllegalArgumentException("Invalid adaptive rate limiter settings");
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increaseStep = increaseStep;
+        this.decreaseFactor = decreaseFactor;
+        this.burst = burst;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.nanoClock = nanoClock;
+        this.rate = Math.min(maxRate, Math.max(minRate, initialRate));
+        // Start with a full bucket.
+        this.nextFreeNanos = Long.MIN_VALUE / 2;
+    }
+
+    /**
+     * Blocks until a permit is available or sheds the call.
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RequestShedException("Interrupted while waiting for an upstream request permit.");
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Reserves the next permit and returns how long the caller has to wait for it. A positive wait counts the caller
+     * as queued until {@link #acquire()} has slept it off.
+     */
+    long reserve() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            long interval = intervalNanos();
+            // Unused capacity accumulates up to the burst size.
+            long earliest = Math.max(nextFreeNanos, now - (burst - 1) * interval);
+            long waitNanos = Math.max(0, earliest - now);
+            if (waitNanos > maxWaitNanos || (waitNanos > 0 && queued.get() >= maxQueued)) {
+                rejected.increment();
+                throw new RequestShedException(
+                        "Upstream request budget exhausted locally. Please try again later.");
+            }
+            nextFreeNanos = earliest + interval;
+            granted.increment();
+            if (waitNanos > 0) {
+                queued.incrementAndGet();
+            }
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a queued slot taken by {@link #reserve()} for callers that wait without going through
+     * {@link #acquire()}.
+     */
+    void dequeue() {
+        queued.decrementAndGet();
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            rate = Math.min(maxRate, rate + increaseStep);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Backs the rate off and holds further permits for {@code retryAfter} when the server said how long to wait.
+     */
+    public void onThrottled(Duration retryAfter) {
+        throttled.increment();
+        lock.lock();
+        try {
+            rate = Math.max(minRate, rate * decreaseFactor);
+            long now = nanoClock.getAsLong();
+            long pause = retryAfter != null ? retryAfter.toNanos() : intervalNanos();
+            nextFreeNanos = Math.max(nextFreeNanos, now + pause);
+            log.debug("Upstream throttled, permit rate lowered to {}/s", rate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getGrantedCount() {
+        return granted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    private long intervalNanos() {
+        return (long) (NANOS_PER_SECOND / rate);
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.api.client;
+
+/**
+ * Outcome of a conditional read of the full employee listing. When {@code notModified} is set no employees were
+ * delivered and the caller's copy for {@code etag} is still current. {@code version} and {@code epoch} say where the
+ * listing sits in the server's change feed; either is null if the server did not send it.
+ */
+public record EmployeeListing(boolean notModified, String etag, Long version, String epoch) {}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.client;
+
+/**
+ * Filters for the mock server's {@code /search} endpoint; a null field does not filter. Names match on a
+ * case-insensitive substring and titles on case-insensitive equality. Ranges include both bounds.
+ */
+public record EmployeeSearch(
+        String nameContains, Integer minSalary, Integer maxSalary, Integer minAge, Integer maxAge, String title) {
+
+    public static EmployeeSearch byName(String nameContains) {
+        return new EmployeeSearch(nameContains, null, null, null, null, null);
+    }
+}
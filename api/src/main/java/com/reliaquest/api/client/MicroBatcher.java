@@ -0,0 +1,164 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces concurrent single-item calls into batch calls.
+ *
+ * <p>Submitted items wait in a buffer. The buffer is flushed once it holds {@code maxBatchSize} items, or
+ * {@code window} after its first item arrived, whichever comes first. A flush hands the items to {@code batchFunction}
+ * on the worker executor. The function must return exactly one result per item, in the same order. Each caller's
+ * future completes with its own result, or fails with the batch's exception.
+ */
+@Slf4j
+public class MicroBatcher<I, O> implements AutoCloseable {
+
+    private final String name;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Function<List<I>, List<O>> batchFunction;
+    private final ScheduledExecutorService timer;
+    private final Executor worker;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Pending<I, O>> buffer = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+
+    public MicroBatcher(
+            String name,
+            int maxBatchSize,
+            Duration window,
+            Function<List<I>, List<O>> batchFunction,
+            ScheduledExecutorService timer,
+            Executor worker) {
+        if (maxBatchSize < 1 || window.isNegative()) {
+            throw new IllegalArgumentException("Invalid micro-batching settings for " + name);
+        }
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.batchFunction = batchFunction;
+        this.timer = timer;
+        this.worker = worker;
+    }
+
+    public CompletableFuture<O> submit(I item) {
+        CompletableFuture<O> result = new CompletableFuture<>();
+        List<Pending<I, O>> full = null;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException(name + " batcher is closed");
+            }
+            buffer.add(new Pending<>(item, result));
+            if (buffer.size() >= maxBatchSize) {
+                full = drain();
+            } else if (buffer.size() == 1) {
+                scheduledFlush = timer.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    /**
+     * Sends whatever is buffered now instead of waiting for the window to close.
+     */
+    public void flush() {
+        List<Pending<I, O>> batch;
+        lock.lock();
+        try {
+            batch = drain();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * Flushes what is buffered and refuses further items.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        flush();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getItemCount() {
+        return items.sum();
+    }
+
+    private List<Pending<I, O>> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<Pending<I, O>> batch = buffer;
+        buffer = new ArrayList<>();
+        return batch;
+    }
+
+    private void dispatch(List<Pending<I, O>> batch) {
+        try {
+            worker.execute(() -> run(batch));
+        } catch (RejectedExecutionException ex) {
+            batch.forEach(pending -> pending.result().completeExceptionally(ex));
+        }
+    }
+
+    private void run(List<Pending<I, O>> batch) {
+        batches.increment();
+        items.add(batch.size());
+        List<I> inputs = batch.stream().map(Pending::item).toList();
+        try {
+            List<O> outputs = batchFunction.apply(inputs);
+            if (outputs == null || outputs.size() != batch.size()) {
+                throw new IllegalStateException(name + " batch of " + batch.size() + " returned "
+                        + (outputs == null ? "no" : outputs.size()) + " results");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(outputs.get(i));
+            }
+            log.debug("{} batch of {} completed", name, batch.size());
+        } catch (RuntimeException ex) {
+            batch.forEach(pending -> pending.result().completeExceptionally(ex));
+        }
+    }
+
+    private record Pending<I, O>(I item, CompletableFuture<O> result) {}
+}
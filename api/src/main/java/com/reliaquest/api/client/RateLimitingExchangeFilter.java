@@ -0,0 +1,44 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient counterpart of {@link RateLimitingInterceptor}. The wait for a permit is a timer delay rather than a
+ * sleeping thread, and calls the limiter sheds fail with its {@code RequestShedException}.
+ */
+public class RateLimitingExchangeFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    public RateLimitingExchangeFilter(AdaptiveRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+                    long waitNanos = rateLimiter.reserve();
+                    if (waitNanos <= 0) {
+                        return Mono.<Void>empty();
+                    }
+                    return Mono.delay(Duration.ofNanos(waitNanos))
+                            .doFinally(signal -> rateLimiter.dequeue())
+                            .then();
+                })
+                .then(Mono.defer(() -> next.exchange(request)))
+                .doOnNext(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                        rateLimiter.onThrottled(
+                                RetryAfter.parse(response.headers().asHttpHeaders()));
+                    } else if (response.statusCode().is2xxSuccessful()) {
+                        rateLimiter.onSuccess();
+                    }
+                });
+    }
+}
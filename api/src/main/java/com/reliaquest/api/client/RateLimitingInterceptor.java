@@ -0,0 +1,34 @@
+package com.reliaquest.api.client;
+
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Gates every {@code RestTemplate} call to the mock server through the {@link AdaptiveRateLimiter} and feeds the
+ * response status back into it.
+ */
+public class RateLimitingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    public RateLimitingInterceptor(AdaptiveRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        rateLimiter.acquire();
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+            rateLimiter.onThrottled(RetryAfter.parse(response.getHeaders()));
+        } else if (response.getStatusCode().is2xxSuccessful()) {
+            rateLimiter.onSuccess();
+        }
+        return response;
+    }
+}
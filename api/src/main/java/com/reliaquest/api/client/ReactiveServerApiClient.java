@@ -0,0 +1,141 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.RequestShedException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.*;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Non-blocking counterpart of {@link ServerApiClient}, enabled with {@code server.api.client=reactive}. No thread is
+ * held while a call is in flight or waiting to be retried: 429s are retried on Reactor timers with the same
+ * decorrelated-jitter backoff, {@code Retry-After} handling and retry budget as the blocking client.
+ *
+ * <p>It only covers the per-employee calls. The full listing is read by {@link com.reliaquest.api.cache.EmployeeCache},
+ * which loads through the blocking client in every mode.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "server.api.client", havingValue = "reactive")
+public class ReactiveServerApiClient {
+
+    private final WebClient webClient;
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration budget;
+
+    @Autowired
+    public ReactiveServerApiClient(
+            WebClient employeeServerWebClient,
+            @Value("${retry.maxAttempts:3}") int maxAttempts,
+            @Value("${retry.baseDelay:500ms}") Duration baseDelay,
+            @Value("${retry.maxDelay:30s}") Duration maxDelay,
+            @Value("${retry.budget:60s}") Duration budget) {
+        this.webClient = employeeServerWebClient;
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.budget = budget;
+    }
+
+    /**
+     * Completes empty when the server does not know the id.
+     */
+    public Mono<EmployeeOutput> getEmployeeById(String id) {
+        log.debug("Sending reactive get request for [{}]", id);
+        return withRetry(webClient
+                        .get()
+                        .uri("/{id}", id)
+                        .retrieve()
+                        .onStatus(status -> status.isSameCodeAs(HttpStatus.NOT_FOUND), response -> Mono.empty())
+                        .onStatus(this::isThrottled, ReactiveServerApiClient::tooManyRequests)
+                        .bodyToMono(SingleEmployeeServerResponse.class))
+                .mapNotNull(SingleEmployeeServerResponse::getData);
+    }
+
+    public Mono<EmployeeOutput> createEmployee(EmployeeInput input) {
+        log.debug("Sending reactive create request for [{}]", input);
+        return withRetry(webClient
+                        .post()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(input)
+                        .retrieve()
+                        .onStatus(this::isThrottled, ReactiveServerApiClient::tooManyRequests)
+                        .bodyToMono(SingleEmployeeServerResponse.class))
+                .mapNotNull(SingleEmployeeServerResponse::getData);
+    }
+
+    /**
+     * Deletes by name, the only key the mock server accepts. The name is looked up first when the caller does not
+     * already know it.
+     */
+    public Mono<DeleteEmployeeResponse> deleteEmployee(String id, String name) {
+        Mono<String> resolvedName = name != null
+                ? Mono.just(name)
+                : getEmployeeById(id)
+                        .map(EmployeeOutput::getName)
+                        .switchIfEmpty(Mono.error(
+                                new IllegalArgumentException("Employee with ID " + id + " does not exist.")));
+        return resolvedName.flatMap(employeeName -> withRetry(webClient
+                        .method(HttpMethod.DELETE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new DeleteEmployeePayload(employeeName))
+                        .retrieve()
+                        .onStatus(this::isThrottled, ReactiveServerApiClient::tooManyRequests)
+                        .bodyToMono(DeleteEmployeeResponse.class))
+                .doOnNext(response -> response.setName(employeeName)));
+    }
+
+    private boolean isThrottled(HttpStatusCode status) {
+        return status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private <T> Mono<T> withRetry(Mono<T> call) {
+        return call.retryWhen(Retry.from(signals -> {
+            long deadline = System.nanoTime() + budget.toNanos();
+            long[] previousDelay = {baseDelay.toNanos()};
+            return signals.concatMap(signal -> {
+                if (!(signal.failure() instanceof TooManyRequestsException throttled)
+                        || throttled instanceof RequestShedException
+                        || signal.totalRetries() + 1 >= maxAttempts) {
+                    return Mono.error(signal.failure());
+                }
+                long delay = nextDelay(previousDelay[0]);
+                if (throttled.getRetryAfter() != null) {
+                    delay = Math.max(delay, throttled.getRetryAfter().toNanos());
+                }
+                if (System.nanoTime() + delay - deadline > 0) {
+                    return Mono.error(throttled);
+                }
+                previousDelay[0] = delay;
+                return Mono.delay(Duration.ofNanos(delay));
+            });
+        }));
+    }
+
+    private long nextDelay(long previousDelayNanos) {
+        long base = baseDelay.toNanos();
+        long upper = Math.min(maxDelay.toNanos(), Math.max(base, previousDelayNanos * 3));
+        return upper <= base ? base : ThreadLocalRandom.current().nextLong(base, upper + 1);
+    }
+
+    private static Mono<? extends Throwable> tooManyRequests(ClientResponse response) {
+        return Mono.error(new TooManyRequestsException(
+                "Received too many requests from the server. Please try again later.",
+                RetryAfter.parse(response.headers().asHttpHeaders())));
+    }
+}
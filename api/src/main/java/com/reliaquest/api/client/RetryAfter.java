@@ -0,0 +1,39 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Parses the {@code Retry-After} response header, which is either a number of seconds or an HTTP date.
+ */
+final class RetryAfter {
+
+    private RetryAfter() {}
+
+    static Duration parse(HttpHeaders headers) {
+        if (headers == null) {
+            return null;
+        }
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            // Not delta-seconds, try the HTTP-date form.
+        }
+        try {
+            Instant until = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant();
+            Duration wait = Duration.between(Instant.now(), until);
+            return wait.isNegative() ? Duration.ZERO : wait;
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+}
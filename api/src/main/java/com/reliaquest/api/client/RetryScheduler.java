@@ -0,0 +1,147 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.RequestShedException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retries upstream calls that failed with {@link TooManyRequestsException} without sleeping on a thread: each retry is
+ * scheduled on a timer and then handed back to the worker executor. Calls the local rate limiter shed with a
+ * {@link RequestShedException} fail at once, as a retry would only queue for the limiter again. Delays follow
+ * decorrelated-jitter exponential backoff between {@code baseDelay} and {@code maxDelay}, stretched to the server's
+ * {@code Retry-After} when it sent one. A call gives up after {@code maxAttempts} or once the next attempt would start
+ * after its total retry budget.
+ */
+@Slf4j
+public class RetryScheduler {
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final long budgetNanos;
+    private final ScheduledExecutorService timer;
+    private final Executor worker;
+
+    private final LongAdder retriesScheduled = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public RetryScheduler(
+            int maxAttempts,
+            Duration baseDelay,
+            Duration maxDelay,
+            Duration budget,
+            ScheduledExecutorService timer,
+            Executor worker) {
+        if (maxAttempts < 1 || baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("Invalid retry settings");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.budgetNanos = budget.toNanos();
+        this.timer = timer;
+        this.worker = worker;
+    }
+
+    /**
+     * Runs {@code call} on the worker executor, retrying as configured, and completes the returned future with its
+     * result or last failure.
+     */
+    public <T> CompletableFuture<T> execute(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long deadline = System.nanoTime() + budgetNanos;
+        dispatch(() -> attempt(call, result, 1, baseDelayNanos, deadline), result);
+        return result;
+    }
+
+    /**
+     * As {@link #execute}, but the first attempt runs on the calling thread, for callers that are about to wait for the
+     * result anyway. Only retries are handed to the worker executor.
+     */
+    public <T> CompletableFuture<T> executeInline(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(call, result, 1, baseDelayNanos, System.nanoTime() + budgetNanos);
+        return result;
+    }
+
+    public long getRetriesScheduledCount() {
+        return retriesScheduled.sum();
+    }
+
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    /**
+     * Stops the timer. The worker executor is shared with other callers and is left to its owner.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private <T> void attempt(
+            Supplier<T> call, CompletableFuture<T> result, int attempt, long previousDelayNanos, long deadline) {
+        try {
+            result.complete(call.get());
+        } catch (RequestShedException ex) {
+            result.completeExceptionally(ex);
+        } catch (TooManyRequestsException ex) {
+            if (attempt >= maxAttempts) {
+                result.completeExceptionally(ex);
+                return;
+            }
+            long delay = nextDelay(previousDelayNanos);
+            if (ex.getRetryAfter() != null) {
+                delay = Math.max(delay, ex.getRetryAfter().toNanos());
+            }
+            if (System.nanoTime() + delay - deadline > 0) {
+                budgetExhausted.increment();
+                log.debug("Retry budget exhausted after {} attempts", attempt);
+                result.completeExceptionally(ex);
+                return;
+            }
+            retriesScheduled.increment();
+            long scheduledDelay = delay;
+            log.debug("Attempt {} throttled, retrying in {} ms", attempt, TimeUnit.NANOSECONDS.toMillis(delay));
+            try {
+                timer.schedule(
+                        () -> dispatch(
+                                () -> attempt(call, result, attempt + 1, scheduledDelay, deadline), result),
+                        delay,
+                        TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException rejected) {
+                result.completeExceptionally(ex);
+            }
+        } catch (RuntimeException | Error ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Decorrelated jitter: a random delay between the base and three times the previous delay, capped.
+     */
+    long nextDelay(long previousDelayNanos) {
+        long upper = Math.min(maxDelayNanos, Math.max(baseDelayNanos, previousDelayNanos * 3));
+        if (upper <= baseDelayNanos) {
+            return baseDelayNanos;
+        }
+        return ThreadLocalRandom.current().nextLong(baseDelayNanos, upper + 1);
+    }
+
+    private void dispatch(Runnable task, CompletableFuture<?> result) {
+        try {
+            worker.execute(task);
+        } catch (RejectedExecutionException ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+}
@@ -1,33 +1,90 @@
 package com.reliaquest.api.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.model.*;
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.retry.support.RetryTemplate;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Slf4j
 @Service
 public class ServerApiClient {
 
+    static final String STORE_VERSION_HEADER = "X-Store-Version";
+    static final String STORE_EPOCH_HEADER = "X-Store-Epoch";
+    static final int SEARCH_PAGE_SIZE = 500;
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final ObjectMapper STREAM_MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final ObjectMapper SMILE_STREAM_MAPPER = SmileMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final ObjectReader EMPLOYEE_READER = STREAM_MAPPER.readerFor(EmployeeOutput.class);
+
     private final RestTemplate restTemplate;
     private String serverBaseUrl;
-    private final RetryTemplate retryTemplate;
+    private final RetryScheduler retryScheduler;
+
+    @Value("${http.client.prefer-smile:true}")
+    private boolean preferSmile;
+
+    @Getter
+    private final SingleFlight<String, ListEmployeeServerResponse> listRequests = new SingleFlight<>();
+
+    @Getter
+    private final SingleFlight<String, SingleEmployeeServerResponse> employeeRequests = new SingleFlight<>();
+
+    // Last full listing and its ETag, replayed when the server answers a conditional GET with 304.
+    private volatile Tagged<ListEmployeeServerResponse> lastListing;
+
+    // Set when create batching is enabled; single creates then go through it.
+    private volatile MicroBatcher<EmployeeInput, BatchItemOutput> createBatcher;
+
+    // Set when lookup batching is enabled; single lookups by id then go through it.
+    private volatile MicroBatcher<String, SingleEmployeeServerResponse> lookupBatcher;
 
     @Autowired
     public ServerApiClient(
             RestTemplate restTemplate,
-            RetryTemplate retryTemplate,
+            RetryScheduler retryScheduler,
             @Value("${server.api.base-url}") String serverBaseUrl) {
         this.restTemplate = restTemplate;
-        this.retryTemplate = retryTemplate;
+        this.retryScheduler = retryScheduler;
         this.serverBaseUrl = serverBaseUrl;
     }
 
@@ -39,27 +96,492 @@ public class ServerApiClient {
         log.debug("Server base URL set to: {}", this.serverBaseUrl);
     }
 
+    /**
+     * Concurrent callers share one in-flight upstream request, including its retries.
+     */
     public ListEmployeeServerResponse getAllEmployeesFromServer() {
-        return retryTemplate.execute(context -> {
+        return listRequests.execute(serverBaseUrl, () -> call(getAllEmployeesFromServerCall()));
+    }
+
+    /**
+     * Streams the full listing and hands each employee to {@code consumer} as soon as it is parsed, so no list of the
+     * whole dataset is built here. Asks for NDJSON, or with {@code http.client.prefer-smile} for the enveloped listing
+     * in Smile, and reads an enveloped array element by element whether it comes as Smile or JSON. Returns the
+     * server's store version, or null if the server did not send one. A 429 arrives before any employee does, so
+     * retries never replay rows the consumer has already seen.
+     */
+    public Long forEachEmployee(Consumer<EmployeeOutput> consumer) {
+        return forEachEmployee(null, consumer).version();
+    }
+
+    /**
+     * As {@link #forEachEmployee(Consumer)}, but sends {@code ifNoneMatch} when given. If the listing is unchanged the
+     * server answers 304, nothing reaches {@code consumer} and the result says so; the caller keeps its own copy.
+     */
+    public EmployeeListing forEachEmployee(String ifNoneMatch, Consumer<EmployeeOutput> consumer) {
+        return call(() -> {
+            try {
+                return restTemplate.execute(
+                        URI.create(serverBaseUrl),
+                        HttpMethod.GET,
+                        request -> {
+                            // The server streams NDJSON only as JSON text; Smile comes enveloped.
+                            List<MediaType> accept = preferSmile
+                                    ? List.of(SMILE, MediaType.APPLICATION_JSON)
+                                    : List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON);
+                            request.getHeaders().setAccept(accept);
+                            if (ifNoneMatch != null) {
+                                request.getHeaders().setIfNoneMatch(ifNoneMatch);
+                            }
+                        },
+                        response -> {
+                            String etag = response.getHeaders().getETag();
+                            String version = response.getHeaders().getFirst(STORE_VERSION_HEADER);
+                            Long storeVersion = version == null ? null : Long.valueOf(version);
+                            String epoch = response.getHeaders().getFirst(STORE_EPOCH_HEADER);
+                            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                                return new EmployeeListing(
+                                        true, etag != null ? etag : ifNoneMatch, storeVersion, epoch);
+                            }
+                            readEmployees(response, consumer);
+                            return new EmployeeListing(false, etag, storeVersion, epoch);
+                        });
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                throw tooManyRequests(ex);
+            }
+        });
+    }
+
+    static void readEmployees(ClientHttpResponse response, Consumer<EmployeeOutput> consumer) throws IOException {
+        MediaType contentType = response.getHeaders().getContentType();
+        ObjectMapper mapper = SMILE.isCompatibleWith(contentType) ? SMILE_STREAM_MAPPER : STREAM_MAPPER;
+        try (JsonParser parser = mapper.createParser(response.getBody())) {
+            if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    consumer.accept(EMPLOYEE_READER.readValue(parser));
+                }
+                return;
+            }
+            // {"data": [...], "status": ...}, as JSON or Smile: skip to the data array and read its elements one at a
+            // time.
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Unexpected employee listing: " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(EMPLOYEE_READER.readValue(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Lazily walks the server's paged listing, holding one page in memory at a time. Every page comes from the store
+     * version the first page was taken from. Fails with {@link IllegalStateException} if the server releases that
+     * version before the walk finishes.
+     */
+    public Stream<EmployeeOutput> streamAllEmployees(int pageSize) {
+        Iterator<EmployeeOutput> employees = new Iterator<>() {
+            private ListEmployeeServerResponse page;
+            private Iterator<EmployeeOutput> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                if (page == null) {
+                    page = getEmployeePage(null, pageSize);
+                    current = dataOf(page);
+                }
+                while (!current.hasNext() && page.getCursor() != null) {
+                    page = getEmployeePage(page.getCursor(), pageSize);
+                    current = dataOf(page);
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public EmployeeOutput next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(employees, Spliterator.ORDERED), false);
+    }
+
+    public ListEmployeeServerResponse getEmployeePage(String cursor, int limit) {
+        return call(() -> {
             try {
+                URI url = UriComponentsBuilder.fromUriString(serverBaseUrl)
+                        .queryParam("limit", limit)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .build()
+                        .toUri();
                 ResponseEntity<ListEmployeeServerResponse> response =
-                        restTemplate.getForEntity(URI.create(serverBaseUrl), ListEmployeeServerResponse.class);
-                if (response.getStatusCode() == HttpStatus.OK) {
+                        restTemplate.getForEntity(url, ListEmployeeServerResponse.class);
+                if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                    throw new IllegalStateException(
+                            "Failed to fetch employee page from server. Status code: " + response.getStatusCode());
+                }
+                return response.getBody();
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                throw tooManyRequests(ex);
+            } catch (HttpClientErrorException.Gone ex) {
+                throw new IllegalStateException("Employee page cursor expired before paging finished.", ex);
+            }
+        });
+    }
+
+    /**
+     * Up to {@code limit} creates and deletes after store version {@code since}, oldest first. Empty when the server
+     * no longer keeps changes that far back, or {@code epoch} is from an earlier run of the server; the caller then
+     * has to reload the full listing.
+     */
+    public Optional<ChangeFeedServerResponse> getChangesSince(long since, String epoch, int limit) {
+        return call(() -> {
+            try {
+                URI url = UriComponentsBuilder.fromUriString(serverBaseUrl)
+                        .path("/changes")
+                        .queryParam("since", since)
+                        .queryParamIfPresent("epoch", Optional.ofNullable(epoch))
+                        .queryParam("limit", limit)
+                        .build()
+                        .toUri();
+                ResponseEntity<ChangeFeedServerResponse> response =
+                        restTemplate.getForEntity(url, ChangeFeedServerResponse.class);
+                if (response.getStatusCode() != HttpStatus.OK
+                        || response.getBody() == null
+                        || response.getBody().getVersion() == null) {
+                    throw new IllegalStateException(
+                            "Failed to fetch employee changes from server. Status code: " + response.getStatusCode());
+                }
+                return Optional.of(response.getBody());
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                throw tooManyRequests(ex);
+            } catch (HttpClientErrorException.Gone ex) {
+                log.debug("Server no longer has changes since v{}", since);
+                return Optional.<ChangeFeedServerResponse>empty();
+            }
+        });
+    }
+
+    /**
+     * Concurrent callers asking for the same id share one request. With lookup batching enabled, lookups of different
+     * ids are gathered into {@link #getEmployeesByIds} calls, and an unknown id comes back with no data rather than
+     * as a 404.
+     */
+    public SingleEmployeeServerResponse getEmployeeById(String id) {
+        MicroBatcher<String, SingleEmployeeServerResponse> batcher = lookupBatcher;
+        return employeeRequests.execute(
+                id, () -> batcher == null ? call(getEmployeeByIdCall(id)) : await(batcher.submit(id)));
+    }
+
+    /**
+     * Gathers concurrent {@link #getEmployeeById} calls into {@link #getEmployeesByIds} batches.
+     */
+    public void setLookupBatcher(MicroBatcher<String, SingleEmployeeServerResponse> lookupBatcher) {
+        this.lookupBatcher = lookupBatcher;
+    }
+
+    /**
+     * Looks up all of {@code ids} in one call and returns one response per id, in order. Ids the server does not know,
+     * and ids that are not UUIDs, get a response with no data; when no id is a UUID the server is not called at all.
+     */
+    public List<SingleEmployeeServerResponse> getEmployeesByIds(List<String> ids) {
+        List<UUID> uuids = ids.stream()
+                .map(ServerApiClient::parseUuid)
+                .flatMap(Optional::stream)
+                .distinct()
+                .toList();
+        Map<UUID, EmployeeOutput> found = new HashMap<>();
+        String status = null;
+        if (!uuids.isEmpty()) {
+            ListEmployeeServerResponse response = call(getEmployeesByIdsCall(uuids));
+            status = response.getStatus();
+            if (response.getData() != null) {
+                for (EmployeeOutput employee : response.getData()) {
+                    parseUuid(employee.getId()).ifPresent(uuid -> found.put(uuid, employee));
+                }
+            }
+        }
+        List<SingleEmployeeServerResponse> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            SingleEmployeeServerResponse result = new SingleEmployeeServerResponse();
+            result.setData(parseUuid(id).map(found::get).orElse(null));
+            result.setStatus(status);
+            results.add(result);
+        }
+        return results;
+    }
+
+    public CompletableFuture<ListEmployeeServerResponse> getEmployeesByIdsAsync(List<UUID> uuids) {
+        return retryScheduler.execute(getEmployeesByIdsCall(uuids));
+    }
+
+    private Supplier<ListEmployeeServerResponse> getEmployeesByIdsCall(List<UUID> uuids) {
+        return () -> {
+            try {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                log.debug("Sending lookup request for {} ids", uuids.size());
+                ResponseEntity<ListEmployeeServerResponse> response = restTemplate.postForEntity(
+                        serverBaseUrl + "/lookup", new HttpEntity<>(uuids, headers), ListEmployeeServerResponse.class);
+                if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                    throw new IllegalStateException(
+                            "Failed to look up employees. Status code: " + response.getStatusCode());
+                }
+                return response.getBody();
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                throw tooManyRequests(ex);
+            }
+        };
+    }
+
+    /**
+     * Coalesces concurrent {@link #createEmployee} calls into {@link #createEmployees} batches.
+     */
+    public void setCreateBatcher(MicroBatcher<EmployeeInput, BatchItemOutput> createBatcher) {
+        this.createBatcher = createBatcher;
+    }
+
+    /**
+     * Creates one employee, as part of a batch shared with concurrent callers when create batching is enabled.
+     */
+    public SingleEmployeeServerResponse createEmployee(EmployeeInput input) {
+        MicroBatcher<EmployeeInput, BatchItemOutput> batcher = createBatcher;
+        if (batcher == null) {
+            return call(createEmployeeCall(input));
+        }
+        BatchItemOutput result = await(batcher.submit(input));
+        if (result.getError() != null) {
+            throw new IllegalArgumentException("Invalid employee input: " + result.getError());
+        }
+        SingleEmployeeServerResponse response = new SingleEmployeeServerResponse();
+        response.setData(result.getData());
+        return response;
+    }
+
+    /**
+     * Creates all of {@code inputs} with as few calls as possible and returns one result per input, in order. The
+     * server stores a batch all or nothing, so if it rejects some inputs those get their error and the rest are sent
+     * again without them.
+     */
+    public List<BatchItemOutput> createEmployees(List<EmployeeInput> inputs) {
+        try {
+            return inOrder(call(createEmployeesCall(inputs)), inputs.size());
+        } catch (HttpClientErrorException.BadRequest ex) {
+            BatchCreateServerResponse rejected = ex.getResponseBodyAs(BatchCreateServerResponse.class);
+            if (rejected == null || rejected.getData() == null) {
+                throw ex;
+            }
+            List<BatchItemOutput> results = inOrder(rejected, inputs.size());
+            List<Integer> accepted = new ArrayList<>();
+            for (int index = 0; index < results.size(); index++) {
+                if (results.get(index).getError() == null) {
+                    accepted.add(index);
+                }
+            }
+            if (accepted.size() == inputs.size()) {
+                throw ex;
+            }
+            if (!accepted.isEmpty()) {
+                List<BatchItemOutput> created =
+                        createEmployees(accepted.stream().map(inputs::get).toList());
+                for (int i = 0; i < accepted.size(); i++) {
+                    BatchItemOutput result = created.get(i);
+                    result.setIndex(accepted.get(i));
+                    results.set(accepted.get(i), result);
+                }
+            }
+            return results;
+        }
+    }
+
+    public CompletableFuture<BatchCreateServerResponse> createEmployeesAsync(List<EmployeeInput> inputs) {
+        return retryScheduler.execute(createEmployeesCall(inputs));
+    }
+
+    private Supplier<BatchCreateServerResponse> createEmployeesCall(List<EmployeeInput> inputs) {
+        return () -> {
+            try {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                log.debug("Sending batch create request for {} employees", inputs.size());
+                ResponseEntity<BatchCreateServerResponse> response = restTemplate.postForEntity(
+                        serverBaseUrl + "/batch", new HttpEntity<>(inputs, headers), BatchCreateServerResponse.class);
+                if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                    throw new IllegalStateException(
+                            "Failed to create employees. Status code: " + response.getStatusCode());
+                }
+                return response.getBody();
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                throw tooManyRequests(ex);
+            }
+        };
+    }
+
+    /**
+     * Retries are scheduled on the {@link RetryScheduler} timer, so no thread sleeps between attempts.
+     */
+    public CompletableFuture<ListEmployeeServerResponse> getAllEmployeesFromServerAsync() {
+        return retryScheduler.execute(getAllEmployeesFromServerCall());
+    }
+
+    private Supplier<ListEmployeeServerResponse> getAllEmployeesFromServerCall() {
+        return () -> {
+            try {
+                Tagged<ListEmployeeServerResponse> cached = lastListing;
+                HttpHeaders headers = new HttpHeaders();
+                if (cached != null) {
+                    headers.setIfNoneMatch(cached.etag());
+                }
+                ResponseEntity<ListEmployeeServerResponse> response = restTemplate.exchange(
+                        URI.create(serverBaseUrl),
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        ListEmployeeServerResponse.class);
+                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+                    log.debug("Employee listing unchanged since {}", cached.etag());
+                    return cached.body();
+                } else if (response.getStatusCode() == HttpStatus.OK) {
                     log.debug("Retrieved employees from server: {}", response.getBody());
+                    String etag = response.getHeaders().getETag();
+                    lastListing = etag == null || response.getBody() == null
+                            ? null
+                            : new Tagged<>(etag, response.getBody());
                     return response.getBody();
                 } else {
                     throw new IllegalStateException(
                             "Failed to fetch employees from server. Status code: " + response.getStatusCode());
                 }
             } catch (HttpClientErrorException ex) {
-                throw new TooManyRequestsException(
-                        "Received too many requests from the server. Please try again later.");
+                throw tooManyRequests(ex);
             }
-        });
+        };
     }
 
-    public SingleEmployeeServerResponse getEmployeeById(String id) {
-        return retryTemplate.execute(context -> {
+    /**
+     * Every employee matching {@code search}, oldest first, filtered on the server. Follows the search cursor through
+     * all pages, so the result holds one list of all matches and no cursor.
+     */
+    public ListEmployeeServerResponse searchEmployees(EmployeeSearch search) {
+        List<EmployeeOutput> matches = new ArrayList<>();
+        ListEmployeeServerResponse page;
+        String cursor = null;
+        do {
+            page = call(searchEmployeesCall(search, cursor, SEARCH_PAGE_SIZE));
+            if (page.getData() != null) {
+                matches.addAll(page.getData());
+            }
+            cursor = page.getCursor();
+        } while (cursor != null);
+        page.setData(matches);
+        return page;
+    }
+
+    public CompletableFuture<ListEmployeeServerResponse> searchEmployeesAsync(
+            EmployeeSearch search, String cursor, int limit) {
+        return retryScheduler.execute(searchEmployeesCall(search, cursor, limit));
+    }
+
+    private Supplier<ListEmployeeServerResponse> searchEmployeesCall(
+            EmployeeSearch search, String cursor, int limit) {
+        return () -> {
+            try {
+                // Encoded as a whole since names and titles may hold spaces or reserved characters.
+                URI url = UriComponentsBuilder.fromUriString(serverBaseUrl)
+                        .path("/search")
+                        .queryParamIfPresent("name", Optional.ofNullable(search.nameContains()))
+                        .queryParamIfPresent("minSalary", Optional.ofNullable(search.minSalary()))
+                        .queryParamIfPresent("maxSalary", Optional.ofNullable(search.maxSalary()))
+                        .queryParamIfPresent("minAge", Optional.ofNullable(search.minAge()))
+                        .queryParamIfPresent("maxAge", Optional.ofNullable(search.maxAge()))
+                        .queryParamIfPresent("title", Optional.ofNullable(search.title()))
+                        .queryParam("limit", limit)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .encode()
+                        .build()
+                        .toUri();
+                log.debug("Sending search request to URL : {}", url);
+                ResponseEntity<ListEmployeeServerResponse> response =
+                        restTemplate.getForEntity(url, ListEmployeeServerResponse.class);
+                if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                    throw new IllegalStateException(
+                            "Failed to search employees on server. Status code: " + response.getStatusCode());
+                }
+                return response.getBody();
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                throw tooManyRequests(ex);
+            }
+        };
+    }
+
+    /**
+     * Employee count and salary aggregates computed by the server, a few bytes instead of the full listing.
+     */
+    public EmployeeStatsServerResponse getEmployeeStats() {
+        return call(getEmployeeStatsCall());
+    }
+
+    public CompletableFuture<EmployeeStatsServerResponse> getEmployeeStatsAsync() {
+        return retryScheduler.execute(getEmployeeStatsCall());
+    }
+
+    private Supplier<EmployeeStatsServerResponse> getEmployeeStatsCall() {
+        return () -> {
+            try {
+                ResponseEntity<EmployeeStatsServerResponse> response =
+                        restTemplate.getForEntity(serverBaseUrl + "/stats", EmployeeStatsServerResponse.class);
+                if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                    throw new IllegalStateException(
+                            "Failed to fetch employee stats from server. Status code: " + response.getStatusCode());
+                }
+                return response.getBody();
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                throw tooManyRequests(ex);
+            }
+        };
+    }
+
+    /**
+     * The {@code limit} highest-paid employees, highest first, as ranked by the server.
+     */
+    public ListEmployeeServerResponse getTopEarners(int limit) {
+        return call(getTopEarnersCall(limit));
+    }
+
+    public CompletableFuture<ListEmployeeServerResponse> getTopEarnersAsync(int limit) {
+        return retryScheduler.execute(getTopEarnersCall(limit));
+    }
+
+    private Supplier<ListEmployeeServerResponse> getTopEarnersCall(int limit) {
+        return () -> {
+            try {
+                ResponseEntity<ListEmployeeServerResponse> response = restTemplate.getForEntity(
+                        serverBaseUrl + "/top-earners?limit=" + limit, ListEmployeeServerResponse.class);
+                if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                    throw new IllegalStateException(
+                            "Failed to fetch top earners from server. Status code: " + response.getStatusCode());
+                }
+                return response.getBody();
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                throw tooManyRequests(ex);
+            }
+        };
+    }
+
+    public CompletableFuture<SingleEmployeeServerResponse> getEmployeeByIdAsync(String id) {
+        return retryScheduler.execute(getEmployeeByIdCall(id));
+    }
+
+    private Supplier<SingleEmployeeServerResponse> getEmployeeByIdCall(String id) {
+        return () -> {
             try {
                 String url = serverBaseUrl + "/" + id;
                 log.debug("Sending get request for [{}] to URL : {}", id, url);
@@ -76,14 +598,17 @@ public class ServerApiClient {
                     throw new IllegalArgumentException("Employee with ID " + id + " does not exist.");
                 }
             } catch (HttpClientErrorException.TooManyRequests ex) {
-                throw new TooManyRequestsException(
-                        "Received too many requests from the server. Please try again later.");
+                throw tooManyRequests(ex);
             }
-        });
+        };
     }
 
-    public SingleEmployeeServerResponse createEmployee(EmployeeInput input) {
-        return retryTemplate.execute(context -> {
+    public CompletableFuture<SingleEmployeeServerResponse> createEmployeeAsync(EmployeeInput input) {
+        return retryScheduler.execute(createEmployeeCall(input));
+    }
+
+    private Supplier<SingleEmployeeServerResponse> createEmployeeCall(EmployeeInput input) {
+        return () -> {
             try {
                 HttpHeaders headers = new HttpHeaders();
                 headers.setContentType(MediaType.APPLICATION_JSON);
@@ -98,27 +623,35 @@ public class ServerApiClient {
                 log.debug("Created employee on server: {}", response.getBody());
                 return response.getBody();
             } catch (HttpClientErrorException.TooManyRequests ex) {
-                throw new TooManyRequestsException(
-                        "Received too many requests from the server. Please try again later.");
+                throw tooManyRequests(ex);
             }
-        });
+        };
     }
 
-    @Retryable
     public DeleteEmployeeResponse deleteEmployee(String id) {
-        return retryTemplate.execute(context -> {
+        return deleteEmployee(id, null);
+    }
+
+    /**
+     * The mock server deletes by name. Callers that already know the name save the lookup; otherwise it is fetched
+     * once, and the DELETE itself is the only call retried here.
+     */
+    public DeleteEmployeeResponse deleteEmployee(String id, String knownName) {
+        String name = knownName != null ? knownName : lookUpName(id);
+        return call(deleteEmployeeCall(id, name));
+    }
+
+    public CompletableFuture<DeleteEmployeeResponse> deleteEmployeeAsync(String id, String name) {
+        return retryScheduler.execute(deleteEmployeeCall(id, name));
+    }
+
+    private Supplier<DeleteEmployeeResponse> deleteEmployeeCall(String id, String name) {
+        return () -> {
             try {
                 HttpHeaders headers = new HttpHeaders();
                 headers.setContentType(MediaType.APPLICATION_JSON);
-                SingleEmployeeServerResponse employeeById = getEmployeeById(id);
-                if (employeeById.getData() == null) {
-                    throw new IllegalArgumentException("Employee with ID " + id + " does not exist.");
-                }
-
-                String name = employeeById.getData().getName();
                 log.debug("Deleting employee [{}] with name [{}]", id, name);
-                DeleteEmployeePayload payload = new DeleteEmployeePayload(name);
-                HttpEntity<DeleteEmployeePayload> request = new HttpEntity<>(payload, headers);
+                HttpEntity<DeleteEmployeePayload> request = new HttpEntity<>(new DeleteEmployeePayload(name), headers);
                 ResponseEntity<DeleteEmployeeResponse> response =
                         restTemplate.exchange(serverBaseUrl, HttpMethod.DELETE, request, DeleteEmployeeResponse.class);
                 if (response.getStatusCode() == HttpStatus.OK && response.hasBody() && response.getBody() != null) {
@@ -129,9 +662,76 @@ public class ServerApiClient {
                 log.debug("Deleted employee from server: {}", name);
                 return response.getBody();
             } catch (HttpClientErrorException.TooManyRequests ex) {
-                throw new TooManyRequestsException(
-                        "Received too many requests from the server. Please try again later.");
+                throw tooManyRequests(ex);
             }
-        });
+        };
+    }
+
+    private String lookUpName(String id) {
+        SingleEmployeeServerResponse employeeById = getEmployeeById(id);
+        if (employeeById.getData() == null) {
+            throw new IllegalArgumentException("Employee with ID " + id + " does not exist.");
+        }
+        return employeeById.getData().getName();
+    }
+
+    private static List<BatchItemOutput> inOrder(BatchCreateServerResponse response, int size) {
+        List<BatchItemOutput> results = new ArrayList<>(Collections.nCopies(size, null));
+        if (response.getData() != null) {
+            for (BatchItemOutput result : response.getData()) {
+                if (result.getIndex() >= 0 && result.getIndex() < size) {
+                    results.set(result.getIndex(), result);
+                }
+            }
+        }
+        if (results.contains(null)) {
+            throw new IllegalStateException("Batch response does not cover every item");
+        }
+        return results;
+    }
+
+    private static Optional<UUID> parseUuid(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static Iterator<EmployeeOutput> dataOf(ListEmployeeServerResponse page) {
+        return page.getData() == null ? Collections.emptyIterator() : page.getData().iterator();
+    }
+
+    private static TooManyRequestsException tooManyRequests(HttpClientErrorException ex) {
+        return new TooManyRequestsException(
+                "Received too many requests from the server. Please try again later.",
+                RetryAfter.parse(ex.getResponseHeaders()));
+    }
+
+    private record Tagged<T>(String etag, T body) {}
+
+    /**
+     * Runs {@code call} with retries and waits for its result. The default controller implements
+     * {@link com.reliaquest.api.controller.IEmployeeController}, which fixes synchronous return types, so its request
+     * thread waits here for the whole call, retries included. Only the reactive controller
+     * ({@code server.api.client=reactive}) releases it while a call is in flight. The first attempt runs on the
+     * waiting thread, so a call that is not throttled takes no second thread.
+     */
+    private <T> T call(Supplier<T> call) {
+        return await(retryScheduler.executeInline(call));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
     }
 }
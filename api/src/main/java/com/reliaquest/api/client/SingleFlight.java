@@ -0,0 +1,71 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. The first caller for a key runs the call on its own
+ * thread; callers arriving while it is in flight wait for and share its result or failure. Nothing is cached once the
+ * call completes.
+ *
+ * @param <K> key identifying the upstream resource
+ * @param <V> result of the call
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            V result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.MicroBatcher;
+import com.reliaquest.api.client.ServerApiClient;
+import com.reliaquest.api.model.BatchItemOutput;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.SingleEmployeeServerResponse;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Groups concurrent employee creates and lookups by id into calls to the mock server's batch and lookup endpoints, so
+ * that many single-employee calls spend one request of the upstream budget per batch rather than one each. Each kind
+ * of batching is switched on by its own property. Batches run on the same upstream call executor as retries.
+ */
+@Configuration
+public class BatchingConfig {
+
+    @Value("${client.create-batching.max-batch-size:50}")
+    private int maxCreateBatchSize;
+
+    @Value("${client.create-batching.window:20ms}")
+    private Duration createWindow;
+
+    @Value("${client.lookup-batching.max-batch-size:100}")
+    private int maxLookupBatchSize;
+
+    @Value("${client.lookup-batching.window:5ms}")
+    private Duration lookupWindow;
+
+    // Threads are only started once a batcher schedules its first flush.
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(RetryConfig.daemonThreads("batch-timer-"));
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "client.create-batching.enabled", havingValue = "true")
+    public MicroBatcher<EmployeeInput, BatchItemOutput> employeeCreateBatcher(
+            ServerApiClient serverApiClient, Executor upstreamCallExecutor) {
+        MicroBatcher<EmployeeInput, BatchItemOutput> batcher = new MicroBatcher<>(
+                "employee-create",
+                maxCreateBatchSize,
+                createWindow,
+                serverApiClient::createEmployees,
+                timer,
+                upstreamCallExecutor);
+        serverApiClient.setCreateBatcher(batcher);
+        return batcher;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "client.lookup-batching.enabled", havingValue = "true")
+    public MicroBatcher<String, SingleEmployeeServerResponse> employeeLookupBatcher(
+            ServerApiClient serverApiClient, Executor upstreamCallExecutor) {
+        MicroBatcher<String, SingleEmployeeServerResponse> batcher = new MicroBatcher<>(
+                "employee-lookup",
+                maxLookupBatchSize,
+                lookupWindow,
+                serverApiClient::getEmployeesByIds,
+                timer,
+                upstreamCallExecutor);
+        serverApiClient.setLookupBatcher(batcher);
+        return batcher;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdown();
+    }
+}
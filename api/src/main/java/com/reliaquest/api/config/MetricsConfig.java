@@ -0,0 +1,101 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.MicroBatcher;
+import com.reliaquest.api.client.RetryScheduler;
+import com.reliaquest.api.client.ServerApiClient;
+import com.reliaquest.api.client.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder serverApiClientMetrics(ServerApiClient serverApiClient) {
+        return registry -> {
+            bindSingleFlight(registry, "list", serverApiClient.getListRequests());
+            bindSingleFlight(registry, "employee", serverApiClient.getEmployeeRequests());
+        };
+    }
+
+    @Bean
+    public MeterBinder retrySchedulerMetrics(RetryScheduler retryScheduler) {
+        return registry -> {
+            FunctionCounter.builder(
+                            "employee.client.retries.scheduled",
+                            retryScheduler,
+                            RetryScheduler::getRetriesScheduledCount)
+                    .register(registry);
+            FunctionCounter.builder(
+                            "employee.client.retries.budget.exhausted",
+                            retryScheduler,
+                            RetryScheduler::getBudgetExhaustedCount)
+                    .description("Calls that gave up because their next retry would exceed the retry budget")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "employee-server");
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(ObjectProvider<AdaptiveRateLimiter> rateLimiter) {
+        return registry -> rateLimiter.ifAvailable(limiter -> {
+            Gauge.builder("employee.client.rate.limit.rate", limiter, AdaptiveRateLimiter::getRate)
+                    .description("Learnt upstream request rate in permits per second")
+                    .register(registry);
+            Gauge.builder("employee.client.rate.limit.queued", limiter, AdaptiveRateLimiter::getQueued)
+                    .description("Callers waiting for an upstream request permit")
+                    .register(registry);
+            FunctionCounter.builder(
+                            "employee.client.rate.limit.granted", limiter, AdaptiveRateLimiter::getGrantedCount)
+                    .register(registry);
+            FunctionCounter.builder(
+                            "employee.client.rate.limit.rejected", limiter, AdaptiveRateLimiter::getRejectedCount)
+                    .description("Calls shed locally before reaching the server")
+                    .register(registry);
+            FunctionCounter.builder(
+                            "employee.client.rate.limit.throttled", limiter, AdaptiveRateLimiter::getThrottledCount)
+                    .description("429 responses received from the server")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder microBatcherMetrics(ObjectProvider<MicroBatcher<?, ?>> batchers) {
+        return registry -> batchers.orderedStream().forEach(batcher -> {
+            FunctionCounter.builder("employee.client.batches", batcher, MicroBatcher::getBatchCount)
+                    .description("Batch calls issued for coalesced single-item calls")
+                    .tag("batcher", batcher.getName())
+                    .register(registry);
+            FunctionCounter.builder("employee.client.batched.items", batcher, MicroBatcher::getItemCount)
+                    .description("Single-item calls carried by batch calls")
+                    .tag("batcher", batcher.getName())
+                    .register(registry);
+        });
+    }
+
+    private static void bindSingleFlight(MeterRegistry registry, String resource, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder("employee.client.requests.executed", singleFlight, SingleFlight::getExecutedCount)
+                .description("Upstream calls actually issued")
+                .tag("resource", resource)
+                .register(registry);
+        FunctionCounter.builder("employee.client.requests.coalesced", singleFlight, SingleFlight::getCoalescedCount)
+                .description("Calls that joined an identical in-flight upstream call")
+                .tag("resource", resource)
+                .register(registry);
+        Gauge.builder("employee.client.requests.in.flight", singleFlight, SingleFlight::getInFlightCount)
+                .tag("resource", resource)
+                .register(registry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.RateLimitingInterceptor;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "client.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimiterConfig {
+
+    @Value("${client.rate-limit.initial-rate:1.0}")
+    private double initialRate;
+
+    @Value("${client.rate-limit.min-rate:0.05}")
+    private double minRate;
+
+    @Value("${client.rate-limit.max-rate:20.0}")
+    private double maxRate;
+
+    @Value("${client.rate-limit.increase-step:0.1}")
+    private double increaseStep;
+
+    @Value("${client.rate-limit.decrease-factor:0.5}")
+    private double decreaseFactor;
+
+    @Value("${client.rate-limit.burst:5}")
+    private int burst;
+
+    @Value("${client.rate-limit.max-queued:50}")
+    private int maxQueued;
+
+    @Value("${client.rate-limit.max-wait:30s}")
+    private Duration maxWait;
+
+    @Bean
+    public AdaptiveRateLimiter upstreamRateLimiter() {
+        return new AdaptiveRateLimiter(
+                initialRate, minRate, maxRate, increaseStep, decreaseFactor, burst, maxQueued, maxWait);
+    }
+
+    @Bean
+    public RateLimitingInterceptor rateLimitingInterceptor(AdaptiveRateLimiter upstreamRateLimiter) {
+        return new RateLimitingInterceptor(upstreamRateLimiter);
+    }
+}
@@ -1,14 +1,99 @@
 package com.reliaquest.api.config;
 
+import java.time.Duration;
+import java.util.List;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Pooled Apache HttpClient transport for {@link RestTemplate}. Connections to the mock server are kept alive and
+ * reused, idle ones are evicted in the background, and responses are transparently decompressed (the client sends
+ * {@code Accept-Encoding: gzip, x-gzip, deflate} by default).
+ *
+ * <p>With {@code http.client.prefer-smile} the Smile converter comes first, so responses are requested as Smile,
+ * Jackson's binary form of JSON, ahead of JSON. Smile repeats no field names and needs no text parsing. A server that
+ * cannot produce Smile picks JSON from the same {@code Accept} header.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${http.client.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${http.client.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${http.client.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${http.client.pool-acquire-timeout:5s}")
+    private Duration poolAcquireTimeout;
+
+    @Value("${http.client.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${http.client.connection-time-to-live:5m}")
+    private Duration connectionTimeToLive;
+
+    @Value("${http.client.prefer-smile:true}")
+    private boolean preferSmile;
+
+    @Bean
+    public PoolingHttpClientConnectionManager connectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(connectionTimeToLive.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(maxIdleTime.toMillis()))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            CloseableHttpClient httpClient, ObjectProvider<ClientHttpRequestInterceptor> interceptors) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.setInterceptors(interceptors.orderedStream().toList());
+        if (preferSmile) {
+            // Accept lists media types in converter order, so this puts Smile ahead of JSON.
+            List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
+            converters.removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+            converters.add(0, new MappingJackson2SmileHttpMessageConverter());
+        }
+        return restTemplate;
     }
 }
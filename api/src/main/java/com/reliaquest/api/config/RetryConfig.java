@@ -1,44 +1,66 @@
 package com.reliaquest.api.config;
 
-import com.reliaquest.api.exception.TooManyRequestsException;
-import java.util.HashMap;
-import java.util.Map;
+import com.reliaquest.api.client.RetryScheduler;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.retry.annotation.EnableRetry;
-import org.springframework.retry.backoff.FixedBackOffPolicy;
-import org.springframework.retry.policy.SimpleRetryPolicy;
-import org.springframework.retry.support.RetryTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
+@Slf4j
 @Configuration
-@EnableRetry
 public class RetryConfig {
 
     @Value("${retry.maxAttempts:3}")
     private int maxAttempts;
 
-    @Value("${retry.backoffDelay:2000}")
-    private long backoffDelay;
+    @Value("${retry.baseDelay:500ms}")
+    private Duration baseDelay;
 
-    @Bean
-    public RetryTemplate retryTemplate() {
-        RetryTemplate retryTemplate = new RetryTemplate();
+    @Value("${retry.maxDelay:30s}")
+    private Duration maxDelay;
 
-        SimpleRetryPolicy defaultRetryPolicy = new SimpleRetryPolicy();
-        defaultRetryPolicy.setMaxAttempts(maxAttempts);
+    @Value("${retry.budget:60s}")
+    private Duration budget;
 
-        Map<Class<? extends Throwable>, Boolean> retryableExceptions = new HashMap<>();
-        retryableExceptions.put(TooManyRequestsException.class, true);
-
-        SimpleRetryPolicy customRetryPolicy = new SimpleRetryPolicy(3, retryableExceptions, true);
-        retryTemplate.setRetryPolicy(customRetryPolicy);
-
-        FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
-        backOffPolicy.setBackOffPeriod(backoffDelay);
+    @Bean(destroyMethod = "shutdown")
+    public RetryScheduler retryScheduler(Executor upstreamCallExecutor) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("retry-timer-"));
+        return new RetryScheduler(maxAttempts, baseDelay, maxDelay, budget, timer, upstreamCallExecutor);
+    }
 
-        retryTemplate.setBackOffPolicy(backOffPolicy);
+    /**
+     * Runs upstream calls for the retry scheduler and the batchers. Upstream calls block on socket I/O, so with
+     * {@code spring.threads.virtual.enabled} on Java 21 each one gets its own virtual thread; otherwise they share a
+     * cached pool of platform threads. The context closes it on shutdown through its own {@code close} or
+     * {@code shutdown} method.
+     */
+    @Bean(destroyMethod = AbstractBeanDefinition.INFER_METHOD)
+    public Executor upstreamCallExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Running upstream calls on virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("upstream-call-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        return Executors.newCachedThreadPool(daemonThreads("upstream-call-"));
+    }
 
-        return retryTemplate;
+    static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
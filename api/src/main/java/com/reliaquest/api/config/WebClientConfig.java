@@ -0,0 +1,72 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.RateLimitingExchangeFilter;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Reactor Netty transport for {@link com.reliaquest.api.client.ReactiveServerApiClient}. The connection pool bounds how
+ * many calls are in flight and how many may wait for a connection; callers beyond that fail fast instead of queueing
+ * without limit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.api.client", havingValue = "reactive")
+public class WebClientConfig {
+
+    @Value("${server.api.base-url}")
+    private String serverBaseUrl;
+
+    @Value("${http.client.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${http.client.max-pending-acquires:500}")
+    private int maxPendingAcquires;
+
+    @Value("${http.client.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${http.client.pool-acquire-timeout:5s}")
+    private Duration poolAcquireTimeout;
+
+    @Value("${http.client.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider employeeServerConnectionProvider() {
+        return ConnectionProvider.builder("employee-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient employeeServerWebClient(
+            WebClient.Builder builder,
+            ConnectionProvider employeeServerConnectionProvider,
+            ObjectProvider<AdaptiveRateLimiter> rateLimiter) {
+        HttpClient httpClient = HttpClient.create(employeeServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(true);
+        WebClient.Builder configured =
+                builder.baseUrl(serverBaseUrl).clientConnector(new ReactorClientHttpConnector(httpClient));
+        rateLimiter.ifAvailable(limiter -> configured.filter(new RateLimitingExchangeFilter(limiter)));
+        return configured.build();
+    }
+}
@@ -1,10 +1,13 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.cache.EmployeeCache;
 import com.reliaquest.api.client.ServerApiClient;
 import com.reliaquest.api.model.*;
 import java.util.List;
+import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,31 +15,33 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 @RestController
 @RequestMapping(path = "${apiPrefix}")
+@ConditionalOnProperty(name = "server.api.client", havingValue = "blocking", matchIfMissing = true)
 public class EmployeeControllerImpl implements IEmployeeController<EmployeeOutput, EmployeeInput> {
 
     @Autowired
     private ServerApiClient serverApiClient;
 
+    @Autowired
+    private EmployeeCache employeeCache;
+
     @Override
     public ResponseEntity<List<EmployeeOutput>> getAllEmployees() {
-        log.debug("Fetching all employees from server");
-        ListEmployeeServerResponse employeeResponse = serverApiClient.getAllEmployeesFromServer();
-        return ResponseEntity.ok(employeeResponse.getData());
+        log.debug("Fetching all employees from cache");
+        return ResponseEntity.ok(employeeCache.getEmployees());
     }
 
     @Override
     public ResponseEntity<List<EmployeeOutput>> getEmployeesByNameSearch(String searchString) {
-        ListEmployeeServerResponse employeeResponse = serverApiClient.getAllEmployeesFromServer();
-        List<EmployeeOutput> employees = employeeResponse.getData();
-        log.debug("Filtering employees by name search: {}", searchString);
-        List<EmployeeOutput> filteredEmployees = employees.stream()
-                .filter(employee -> employee.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .toList();
-        return ResponseEntity.ok(filteredEmployees);
+        log.debug("Searching name index for: {}", searchString);
+        return ResponseEntity.ok(employeeCache.searchByName(searchString));
     }
 
     @Override
     public ResponseEntity<EmployeeOutput> getEmployeeById(String id) {
+        Optional<EmployeeOutput> cached = employeeCache.peekById(id);
+        if (cached.isPresent()) {
+            return ResponseEntity.ok(cached.get());
+        }
         SingleEmployeeServerResponse employeeResponse = serverApiClient.getEmployeeById(id);
         if (employeeResponse != null && employeeResponse.getData() != null) {
             return ResponseEntity.ok(employeeResponse.getData());
@@ -47,26 +52,14 @@ public class EmployeeControllerImpl implements IEmployeeController<EmployeeOutpu
 
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        ListEmployeeServerResponse employeeResponse = serverApiClient.getAllEmployeesFromServer();
-        log.debug("Filtering employees to find the highest salary");
-        List<EmployeeOutput> employees = employeeResponse.getData();
-        int highestSalary =
-                employees.stream().mapToInt(EmployeeOutput::getSalary).max().orElse(0);
-        return ResponseEntity.ok(highestSalary);
+        log.debug("Reading the highest salary from the salary index");
+        return ResponseEntity.ok(employeeCache.getHighestSalary());
     }
 
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        ListEmployeeServerResponse employeeResponse = serverApiClient.getAllEmployeesFromServer();
-        log.debug("Filtering employees to find the top 10 highest earning employee names");
-        List<EmployeeOutput> employees = employeeResponse.getData();
-
-        List<String> top10SalariedEmployeeNames = employees.stream()
-                .sorted((e1, e2) -> Integer.compare(e2.getSalary(), e1.getSalary()))
-                .limit(10)
-                .map(EmployeeOutput::getName)
-                .toList();
-        return ResponseEntity.ok(top10SalariedEmployeeNames);
+        log.debug("Reading the top 10 highest earning employee names from the salary index");
+        return ResponseEntity.ok(employeeCache.getTopEarnerNames());
     }
 
     @Override
@@ -78,6 +71,7 @@ public class EmployeeControllerImpl implements IEmployeeController<EmployeeOutpu
         SingleEmployeeServerResponse employeeResponse = serverApiClient.createEmployee(employeeInput);
         if (employeeResponse != null && employeeResponse.getData() != null) {
             log.debug("Created employee object: {}", employeeResponse.getData());
+            employeeCache.onCreated(employeeResponse.getData());
             return ResponseEntity.ok(employeeResponse.getData());
         } else {
             log.debug("Failed to create employee object: {}", employeeResponse);
@@ -88,10 +82,14 @@ public class EmployeeControllerImpl implements IEmployeeController<EmployeeOutpu
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         log.debug("Deleting employee object: {}", id);
-        DeleteEmployeeResponse deleteEmployeeResponse = serverApiClient.deleteEmployee(id);
+        // The snapshot usually knows the name already, which saves the client a lookup before the DELETE.
+        String knownName =
+                employeeCache.peekById(id).map(EmployeeOutput::getName).orElse(null);
+        DeleteEmployeeResponse deleteEmployeeResponse = serverApiClient.deleteEmployee(id, knownName);
         String employeeName = deleteEmployeeResponse.getName();
         if (employeeName != null && !employeeName.isEmpty()) {
             log.debug("Deleted employee with ID [{}] and name [{}]", id, employeeName);
+            employeeCache.onDeleted(id);
             return ResponseEntity.ok(employeeName);
         } else {
             log.debug("Failed to delete employee with ID [{}]", id);
@@ -0,0 +1,100 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.client.ReactiveServerApiClient;
+import com.reliaquest.api.model.*;
+import java.util.List;
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking variant of {@link EmployeeControllerImpl}, enabled with {@code server.api.client=reactive}. It serves
+ * the same routes without holding a request thread. {@link IEmployeeController} fixes synchronous return types, so
+ * this controller mirrors its mappings rather than implementing it.
+ *
+ * <p>Only lookups by id, creates and deletes call the server through {@link ReactiveServerApiClient}. The listing,
+ * name search and salary routes read the shared {@link EmployeeCache}, which loads through the blocking
+ * {@link com.reliaquest.api.client.ServerApiClient}. Those reads run on the bounded elastic scheduler, so a cold or
+ * expired cache still holds one of its threads while it loads.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = "${apiPrefix}")
+@ConditionalOnProperty(name = "server.api.client", havingValue = "reactive")
+public class ReactiveEmployeeController {
+
+    @Autowired
+    private ReactiveServerApiClient reactiveServerApiClient;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<EmployeeOutput>>> getAllEmployees() {
+        return fromCache(employeeCache::getEmployees).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<EmployeeOutput>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return fromCache(() -> employeeCache.searchByName(searchString)).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeOutput>> getEmployeeById(@PathVariable String id) {
+        return employeeCache
+                .peekById(id)
+                .map(Mono::just)
+                .orElseGet(() -> reactiveServerApiClient.getEmployeeById(id))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return fromCache(employeeCache::getHighestSalary).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return fromCache(employeeCache::getTopEarnerNames).map(ResponseEntity::ok);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<EmployeeOutput>> createEmployee(@RequestBody EmployeeInput employeeInput) {
+        if (employeeInput == null) {
+            return Mono.error(new IllegalArgumentException("Invalid input type. Expected Employee object."));
+        }
+        log.debug("Creating employee object: {}", employeeInput);
+        return reactiveServerApiClient
+                .createEmployee(employeeInput)
+                .doOnNext(employeeCache::onCreated)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        log.debug("Deleting employee object: {}", id);
+        String knownName = employeeCache.peekById(id).map(EmployeeOutput::getName).orElse(null);
+        return reactiveServerApiClient
+                .deleteEmployee(id, knownName)
+                .map(DeleteEmployeeResponse::getName)
+                .filter(name -> !name.isEmpty())
+                .doOnNext(name -> employeeCache.onDeleted(id))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(500).body("Failed to delete employee"));
+    }
+
+    /**
+     * A cold or expired cache loads through the blocking client, so cache reads run off the request thread.
+     */
+    private static <T> Mono<T> fromCache(Callable<T> read) {
+        return Mono.fromCallable(read).subscribeOn(Schedulers.boundedElastic());
+    }
+}
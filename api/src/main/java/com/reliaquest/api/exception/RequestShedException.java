@@ -0,0 +1,12 @@
+package com.reliaquest.api.exception;
+
+/**
+ * A call the client's own rate limiter turned away before it reached the server. Waiting for the limiter is what shed
+ * it, so unlike a 429 from the server it is not retried.
+ */
+public class RequestShedException extends TooManyRequestsException {
+
+    public RequestShedException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,24 @@
 package com.reliaquest.api.exception;
 
+import java.time.Duration;
+
 public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
     public TooManyRequestsException(String message) {
+        this(message, null);
+    }
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long the server asked us to wait before trying again, or {@code null} if it did not say.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
     }
 }
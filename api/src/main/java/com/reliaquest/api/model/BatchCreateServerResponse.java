@@ -0,0 +1,13 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class BatchCreateServerResponse {
+    private List<BatchItemOutput> data;
+    private String status;
+    private String error;
+}
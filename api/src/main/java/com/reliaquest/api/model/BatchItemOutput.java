@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class BatchItemOutput {
+
+    // Position of the item in the batch request.
+    private int index;
+    private EmployeeOutput data;
+    // Set instead of data when the server rejected the item.
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ChangeFeedServerResponse {
+    private List<EmployeeChangeOutput> data;
+    private String status;
+    // Store version reached once data has been applied.
+    private Long version;
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class EmployeeChangeOutput {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    // Store version the change produced.
+    private long sequence;
+    private Type type;
+    // The created employee, or the one that was deleted.
+    private EmployeeOutput employee;
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class EmployeeStatsOutput {
+
+    private int count;
+    // The salary figures are null when there are no employees.
+    private Integer minSalary;
+    private Integer maxSalary;
+    private Double averageSalary;
+}
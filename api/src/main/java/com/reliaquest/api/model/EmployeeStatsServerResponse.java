@@ -0,0 +1,12 @@
+package com.reliaquest.api.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class EmployeeStatsServerResponse {
+
+    private EmployeeStatsOutput data;
+    private String status;
+}
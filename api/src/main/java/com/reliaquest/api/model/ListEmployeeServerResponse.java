@@ -9,4 +9,7 @@ import lombok.Setter;
 public class ListEmployeeServerResponse {
     private List<EmployeeOutput> data;
     private String status;
+    // Only set on paged responses.
+    private Long version;
+    private String cursor;
 }
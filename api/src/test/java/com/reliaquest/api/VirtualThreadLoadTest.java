@@ -0,0 +1,141 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Drives far more concurrent requests than Tomcat's default 200-thread pool through the api while a stub upstream
+ * holds every call for half a second and throttles one call in ten. With virtual threads the number of calls in flight
+ * at the stub should scale with the load instead of plateauing at 200.
+ *
+ * <p>Run with {@code ./gradlew :api:loadTest -PjavaVersion=21}; pinned virtual threads are reported on stdout.
+ */
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "spring.profiles.active=virtual-threads",
+            "client.rate-limit.enabled=false",
+            "retry.baseDelay=10ms",
+            "retry.maxDelay=200ms",
+            "cache.employees.refresh-interval=1h",
+            "cache.employees.push.enabled=false",
+            "logging.level.com=INFO",
+            "logging.level.web=INFO"
+        })
+class VirtualThreadLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 400;
+    private static final long UPSTREAM_LATENCY_MILLIS = 500;
+
+    private static final AtomicInteger upstreamInFlight = new AtomicInteger();
+    private static final AtomicInteger upstreamPeak = new AtomicInteger();
+    private static final AtomicInteger upstreamCalls = new AtomicInteger();
+    private static HttpServer upstream;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("stub-upstream-");
+        executor.setVirtualThreads(true);
+        upstream.setExecutor(executor);
+        upstream.createContext("/api/v1/employee", VirtualThreadLoadTest::handleUpstream);
+        upstream.start();
+        registry.add(
+                "server.api.base-url",
+                () -> "http://localhost:" + upstream.getAddress().getPort() + "/api/v1/employee");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        if (upstream != null) {
+            upstream.stop(0);
+        }
+    }
+
+    @Test
+    void concurrentRequestsScalePastPlatformThreadPool() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(new SimpleAsyncTaskExecutor("load-driver-"))
+                .build();
+
+        long started = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/external/api/v1/employee/id-" + i))
+                    .GET()
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        long ok = responses.stream().filter(r -> r.join().statusCode() == 200).count();
+        System.out.printf(
+                "%d requests in %d ms, %d OK, %d upstream calls, peak upstream concurrency %d%n",
+                CONCURRENT_REQUESTS, elapsedMillis, ok, upstreamCalls.get(), upstreamPeak.get());
+
+        assertEquals(CONCURRENT_REQUESTS, ok);
+        assertTrue(
+                upstreamPeak.get() > 200,
+                "expected more than 200 concurrent upstream calls but peaked at " + upstreamPeak.get());
+    }
+
+    private static void handleUpstream(HttpExchange exchange) throws IOException {
+        int call = upstreamCalls.incrementAndGet();
+        upstreamPeak.accumulateAndGet(upstreamInFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(UPSTREAM_LATENCY_MILLIS);
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            if (call % 10 == 0) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            byte[] body = ("{\"data\":{\"id\":\"" + id + "\",\"employee_name\":\"Load Test\",\"employee_salary\":1,"
+                            + "\"employee_age\":30,\"employee_title\":\"Tester\",\"employee_email\":\"t@company.com\"},"
+                            + "\"status\":\"Successfully processed request.\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            upstreamInFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.cache;
+
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.EmployeeChangeOutput;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class ChangeEventSubscriberTest {
+
+    @Mock
+    private EmployeeCache employeeCache;
+
+    private ChangeEventSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        subscriber = new ChangeEventSubscriber(
+                employeeCache, WebClient.builder(), "http://localhost/api/employees", Duration.ZERO, Duration.ZERO);
+    }
+
+    @Test
+    void onEvent_passesChangesWithTheirEpoch() {
+        EmployeeChangeOutput change = new EmployeeChangeOutput();
+
+        subscriber.onEvent(ServerSentEvent.<EmployeeChangeOutput>builder(change)
+                .id("9f3c-42")
+                .event("created")
+                .build());
+
+        verify(employeeCache).onRemoteChange("9f3c", change);
+    }
+
+    @Test
+    void onEvent_resyncReloadsTheCache() {
+        subscriber.onEvent(ServerSentEvent.<EmployeeChangeOutput>builder()
+                .id("9f3c-42")
+                .event(ChangeEventSubscriber.RESYNC_EVENT)
+                .build());
+
+        verify(employeeCache).onRemoteResync();
+        verifyNoMoreInteractions(employeeCache);
+    }
+
+    @Test
+    void onEvent_heartbeatCommentRenewsTheCache() {
+        subscriber.onEvent(
+                ServerSentEvent.<EmployeeChangeOutput>builder().comment("heartbeat").build());
+
+        verify(employeeCache).onRemoteHeartbeat();
+    }
+
+    @Test
+    void onEvent_failuresDoNotEndTheStream() {
+        doThrow(new IllegalStateException("upstream down")).when(employeeCache).onRemoteResync();
+
+        subscriber.onEvent(ServerSentEvent.<EmployeeChangeOutput>builder()
+                .event(ChangeEventSubscriber.RESYNC_EVENT)
+                .build());
+
+        verify(employeeCache).onRemoteResync();
+    }
+}
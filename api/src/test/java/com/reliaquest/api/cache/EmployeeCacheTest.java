@@ -0,0 +1,412 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.EmployeeListing;
+import com.reliaquest.api.client.EmployeeSearch;
+import com.reliaquest.api.client.ServerApiClient;
+import com.reliaquest.api.model.ChangeFeedServerResponse;
+import com.reliaquest.api.model.EmployeeChangeOutput;
+import com.reliaquest.api.model.EmployeeOutput;
+import com.reliaquest.api.model.EmployeeStatsOutput;
+import com.reliaquest.api.model.EmployeeStatsServerResponse;
+import com.reliaquest.api.model.ListEmployeeServerResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class EmployeeCacheTest {
+
+    @Mock
+    private ServerApiClient serverApiClient;
+
+    private final MutableClock clock = new MutableClock();
+
+    private EmployeeCache employeeCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeCache = new EmployeeCache(
+                serverApiClient, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(10), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeCache.shutdown();
+    }
+
+    @Test
+    void getSnapshot_loadsOnceWhileFresh() {
+        when(serverApiClient.forEachEmployee(any(), any())).thenAnswer(streaming(employee("1", "Alice")));
+
+        EmployeeSnapshot first = employeeCache.getSnapshot();
+        clock.advance(Duration.ofSeconds(29));
+        EmployeeSnapshot second = employeeCache.getSnapshot();
+
+        assertSame(first, second);
+        assertEquals(1, second.employees().size());
+        verify(serverApiClient, times(1)).forEachEmployee(any(), any());
+    }
+
+    @Test
+    void getSnapshot_servesStaleWhileRevalidating() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(employee("1", "Alice")))
+                .thenAnswer(streaming(employee("1", "Alice"), employee("2", "Bob")));
+
+        EmployeeSnapshot first = employeeCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(1));
+
+        assertSame(first, employeeCache.getSnapshot());
+        verify(serverApiClient, timeout(1000).times(2)).forEachEmployee(any(), any());
+    }
+
+    @Test
+    void getSnapshot_reloadsSynchronouslyOnceTooStale() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(employee("1", "Alice")))
+                .thenAnswer(streaming(employee("2", "Bob")));
+
+        employeeCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(6));
+
+        EmployeeSnapshot reloaded = employeeCache.getSnapshot();
+        assertEquals("Bob", reloaded.employees().get(0).getName());
+    }
+
+    @Test
+    void writeThrough_updatesSnapshotWithoutUpstreamCall() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(employee("1", "Alice"), employee("2", "Bob")));
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+
+        employeeCache.onCreated(employee("3", "Carol"));
+        employeeCache.onDeleted("1");
+
+        EmployeeSnapshot current = employeeCache.getSnapshot();
+        assertEquals(loaded.version() + 2, current.version());
+        assertEquals(
+                List.of("Bob", "Carol"),
+                current.employees().stream().map(EmployeeOutput::getName).toList());
+        assertTrue(employeeCache.peekById("3").isPresent());
+        assertTrue(employeeCache.peekById("1").isEmpty());
+        verify(serverApiClient, times(1)).forEachEmployee(any(), any());
+    }
+
+    @Test
+    void writeThrough_foldsBurstOfWritesIntoNextRead() {
+        when(serverApiClient.forEachEmployee(any(), any())).thenAnswer(streaming(employee("1", "Alice")));
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+
+        employeeCache.onCreated(employee("2", "Bob"));
+        employeeCache.onCreated(employee("3", "Carol"));
+        employeeCache.onDeleted("2");
+        employeeCache.onCreated(employee("1", "Alicia"));
+
+        EmployeeSnapshot current = employeeCache.getSnapshot();
+        assertEquals(loaded.version() + 4, current.version());
+        assertEquals(
+                List.of("Carol", "Alicia"),
+                current.employees().stream().map(EmployeeOutput::getName).toList());
+        assertTrue(employeeCache.peekById("2").isEmpty());
+        assertSame(current, employeeCache.getSnapshot());
+    }
+
+    @Test
+    void getHighestSalary_asksServerWhileColdAndWarmsInBackground() {
+        EmployeeStatsOutput stats = new EmployeeStatsOutput();
+        stats.setMaxSalary(500);
+        EmployeeStatsServerResponse response = new EmployeeStatsServerResponse();
+        response.setData(stats);
+        when(serverApiClient.getEmployeeStats()).thenReturn(response);
+        EmployeeOutput alice = employee("1", "Alice");
+        alice.setSalary(400);
+        when(serverApiClient.forEachEmployee(any(), any())).thenAnswer(streaming(alice));
+
+        assertEquals(500, employeeCache.getHighestSalary());
+
+        verify(serverApiClient, timeout(1000)).forEachEmployee(any(), any());
+        // Waits for the background load to install its snapshot.
+        employeeCache.getSnapshot();
+        assertEquals(400, employeeCache.getHighestSalary());
+        verify(serverApiClient, times(1)).getEmployeeStats();
+    }
+
+    @Test
+    void getTopEarnerNames_fallsBackToSnapshotWhenServerCannotRank() {
+        when(serverApiClient.getTopEarners(anyInt())).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        EmployeeOutput alice = employee("1", "Alice");
+        alice.setSalary(400);
+        when(serverApiClient.forEachEmployee(any(), any())).thenAnswer(streaming(alice));
+
+        assertEquals(List.of("Alice"), employeeCache.getTopEarnerNames());
+    }
+
+    @Test
+    void getTopEarnerNames_doesNotHideUnexpectedFailuresWhileCold() {
+        when(serverApiClient.getTopEarners(anyInt())).thenThrow(new IllegalStateException("bug"));
+
+        assertThrows(IllegalStateException.class, () -> employeeCache.getTopEarnerNames());
+    }
+
+    @Test
+    void searchByName_filtersOnServerWhileCold() {
+        EmployeeOutput alice = employee("1", "Alice");
+        ListEmployeeServerResponse matches = new ListEmployeeServerResponse();
+        matches.setData(List.of(alice));
+        when(serverApiClient.searchEmployees(EmployeeSearch.byName("ali"))).thenReturn(matches);
+        when(serverApiClient.forEachEmployee(any(), any())).thenAnswer(streaming(alice, employee("2", "Bob")));
+
+        assertEquals(List.of(alice), employeeCache.searchByName("ali"));
+    }
+
+    @Test
+    void peekById_neverCallsUpstream() {
+        assertTrue(employeeCache.peekById("1").isEmpty());
+        verifyNoInteractions(serverApiClient);
+    }
+
+    @Test
+    void refresh_unchangedListingRenewsSnapshotInPlace() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming("\"v1\"", employee("1", "Alice")))
+                .thenReturn(new EmployeeListing(true, "\"v1\"", null, null));
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(6));
+
+        EmployeeSnapshot revalidated = employeeCache.getSnapshot();
+
+        assertEquals(loaded.version(), revalidated.version());
+        assertSame(loaded.employees(), revalidated.employees());
+        assertTrue(revalidated.fetchedAt().isAfter(loaded.fetchedAt()));
+        verify(serverApiClient).forEachEmployee(eq("\"v1\""), any());
+    }
+
+    @Test
+    void refresh_afterWriteThroughIsUnconditional() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming("\"v1\"", employee("1", "Alice")))
+                .thenAnswer(streaming("\"v2\"", employee("1", "Alice"), employee("2", "Bob")));
+        employeeCache.getSnapshot();
+        employeeCache.onCreated(employee("2", "Bob"));
+        clock.advance(Duration.ofMinutes(6));
+
+        employeeCache.getSnapshot();
+
+        verify(serverApiClient, times(2)).forEachEmployee(isNull(), any());
+    }
+
+    @Test
+    void refresh_catchesUpThroughChangeFeed() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(new EmployeeListing(false, null, 5L, "e1"), employee("1", "Alice")));
+        when(serverApiClient.getChangesSince(5L, "e1", EmployeeCache.CHANGE_PAGE_SIZE))
+                .thenReturn(Optional.of(changes(
+                        7L,
+                        change(EmployeeChangeOutput.Type.CREATED, "2", "Bob"),
+                        change(EmployeeChangeOutput.Type.DELETED, "1", "Alice"))));
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(6));
+
+        EmployeeSnapshot caughtUp = employeeCache.getSnapshot();
+
+        assertEquals(loaded.version() + 1, caughtUp.version());
+        assertEquals(
+                List.of("Bob"),
+                caughtUp.employees().stream().map(EmployeeOutput::getName).toList());
+        assertEquals(
+                List.of("Bob"),
+                employeeCache.searchByName("bob").stream().map(EmployeeOutput::getName).toList());
+        verify(serverApiClient, times(1)).forEachEmployee(any(), any());
+    }
+
+    @Test
+    void refresh_reloadsWhenChangeFeedIsTruncated() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(new EmployeeListing(false, null, 5L, "e1"), employee("1", "Alice")))
+                .thenAnswer(streaming(new EmployeeListing(false, null, 900L, "e1"), employee("2", "Bob")));
+        when(serverApiClient.getChangesSince(anyLong(), any(), anyInt())).thenReturn(Optional.empty());
+        employeeCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(6));
+
+        EmployeeSnapshot reloaded = employeeCache.getSnapshot();
+
+        assertEquals("Bob", reloaded.employees().get(0).getName());
+        verify(serverApiClient).getChangesSince(5L, "e1", EmployeeCache.CHANGE_PAGE_SIZE);
+        verify(serverApiClient, times(2)).forEachEmployee(any(), any());
+    }
+
+    @Test
+    void onRemoteChange_appliesNextChangeAndIgnoresReplays() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(new EmployeeListing(false, null, 5L, "e1"), employee("1", "Alice")));
+        EmployeeSnapshot loaded = employeeCache.getSnapshot();
+
+        employeeCache.onRemoteChange("e1", sequenced(change(EmployeeChangeOutput.Type.CREATED, "2", "Bob"), 6));
+        employeeCache.onRemoteChange("e1", sequenced(change(EmployeeChangeOutput.Type.DELETED, "2", "Bob"), 5));
+
+        EmployeeSnapshot current = employeeCache.getSnapshot();
+        assertEquals(loaded.version() + 1, current.version());
+        assertEquals(
+                List.of("Alice", "Bob"),
+                current.employees().stream().map(EmployeeOutput::getName).toList());
+        assertEquals(Optional.of("e1-6"), employeeCache.resumeEventId());
+        verify(serverApiClient, never()).getChangesSince(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void onRemoteChange_echoOfWriteThroughLeavesSnapshotAsIs() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(new EmployeeListing(false, null, 5L, "e1"), employee("1", "Alice")));
+        employeeCache.getSnapshot();
+        employeeCache.onCreated(employee("2", "Bob"));
+        EmployeeSnapshot written = employeeCache.getSnapshot();
+
+        employeeCache.onRemoteChange("e1", sequenced(change(EmployeeChangeOutput.Type.CREATED, "2", "Bob"), 6));
+
+        EmployeeSnapshot current = employeeCache.getSnapshot();
+        assertEquals(written.version(), current.version());
+        assertSame(written.employees(), current.employees());
+        assertEquals(Optional.of("e1-6"), employeeCache.resumeEventId());
+    }
+
+    @Test
+    void onRemoteChange_gapCatchesUpThroughChangeFeed() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(new EmployeeListing(false, null, 5L, "e1"), employee("1", "Alice")));
+        when(serverApiClient.getChangesSince(5L, "e1", EmployeeCache.CHANGE_PAGE_SIZE))
+                .thenReturn(Optional.of(changes(
+                        7L,
+                        sequenced(change(EmployeeChangeOutput.Type.CREATED, "2", "Bob"), 6),
+                        sequenced(change(EmployeeChangeOutput.Type.CREATED, "3", "Carol"), 7))));
+        employeeCache.getSnapshot();
+
+        employeeCache.onRemoteChange("e1", sequenced(change(EmployeeChangeOutput.Type.CREATED, "3", "Carol"), 7));
+
+        assertEquals(3, employeeCache.getEmployees().size());
+        assertEquals(Optional.of("e1-7"), employeeCache.resumeEventId());
+    }
+
+    @Test
+    void onRemoteHeartbeat_keepsSnapshotFreshWhileInStep() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(new EmployeeListing(false, null, 5L, "e1"), employee("1", "Alice")));
+        employeeCache.getSnapshot();
+        clock.advance(Duration.ofSeconds(29));
+        employeeCache.onRemoteHeartbeat();
+        clock.advance(Duration.ofSeconds(29));
+
+        employeeCache.getSnapshot();
+
+        verify(serverApiClient, times(1)).forEachEmployee(any(), any());
+        verifyNoMoreInteractions(serverApiClient);
+    }
+
+    @Test
+    void onRemoteHeartbeat_doesNotRenewSnapshotAfterFailedCatchUp() {
+        when(serverApiClient.forEachEmployee(any(), any()))
+                .thenAnswer(streaming(new EmployeeListing(false, null, 5L, "e1"), employee("1", "Alice")));
+        when(serverApiClient.getChangesSince(5L, "e1", EmployeeCache.CHANGE_PAGE_SIZE))
+                .thenThrow(new IllegalStateException("unavailable"))
+                .thenReturn(Optional.of(changes(
+                        7L,
+                        sequenced(change(EmployeeChangeOutput.Type.CREATED, "2", "Bob"), 6),
+                        sequenced(change(EmployeeChangeOutput.Type.CREATED, "3", "Carol"), 7))));
+        employeeCache.getSnapshot();
+        assertThrows(
+                IllegalStateException.class,
+                () -> employeeCache.onRemoteChange(
+                        "e1", sequenced(change(EmployeeChangeOutput.Type.CREATED, "3", "Carol"), 7)));
+
+        clock.advance(Duration.ofSeconds(29));
+        employeeCache.onRemoteHeartbeat();
+        clock.advance(Duration.ofSeconds(29));
+        employeeCache.refreshIfExpired();
+
+        assertEquals(3, employeeCache.getEmployees().size());
+        verify(serverApiClient, times(2)).getChangesSince(5L, "e1", EmployeeCache.CHANGE_PAGE_SIZE);
+    }
+
+    private static Answer<EmployeeListing> streaming(EmployeeOutput... employees) {
+        return streaming((String) null, employees);
+    }
+
+    private static Answer<EmployeeListing> streaming(String etag, EmployeeOutput... employees) {
+        return streaming(new EmployeeListing(false, etag, null, null), employees);
+    }
+
+    private static Answer<EmployeeListing> streaming(EmployeeListing listing, EmployeeOutput... employees) {
+        return invocation -> {
+            Consumer<EmployeeOutput> consumer = invocation.getArgument(1);
+            for (EmployeeOutput employee : employees) {
+                consumer.accept(employee);
+            }
+            return listing;
+        };
+    }
+
+    private static ChangeFeedServerResponse changes(long version, EmployeeChangeOutput... changes) {
+        ChangeFeedServerResponse response = new ChangeFeedServerResponse();
+        response.setData(List.of(changes));
+        response.setVersion(version);
+        return response;
+    }
+
+    private static EmployeeChangeOutput sequenced(EmployeeChangeOutput change, long sequence) {
+        change.setSequence(sequence);
+        return change;
+    }
+
+    private static EmployeeChangeOutput change(EmployeeChangeOutput.Type type, String id, String name) {
+        EmployeeChangeOutput change = new EmployeeChangeOutput();
+        change.setType(type);
+        change.setEmployee(employee(id, name));
+        return change;
+    }
+
+    private static EmployeeOutput employee(String id, String name) {
+        EmployeeOutput employee = new EmployeeOutput();
+        employee.setId(id);
+        employee.setName(name);
+        return employee;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
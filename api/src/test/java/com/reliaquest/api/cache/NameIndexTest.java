@@ -0,0 +1,65 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.EmployeeOutput;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    private final NameIndex nameIndex = new NameIndex();
+
+    private final EmployeeOutput alice = employee("1", "Alice Smith");
+    private final EmployeeOutput malik = employee("2", "Malik Ali");
+    private final EmployeeOutput bob = employee("3", "Bob Jones");
+
+    @BeforeEach
+    void setUp() {
+        nameIndex.rebuild(List.of(alice, malik, bob));
+    }
+
+    @Test
+    void search_matchesSubstringIgnoringCase() {
+        assertEquals(List.of(alice, malik), nameIndex.search("ALI"));
+        assertEquals(List.of(bob), nameIndex.search("b jON"));
+    }
+
+    @Test
+    void search_verifiesCandidatesAgainstFullQuery() {
+        // "ali" and "lic" both occur in "Malik Ali", but "alic" does not.
+        assertEquals(List.of(alice), nameIndex.search("alic"));
+    }
+
+    @Test
+    void search_shortQueriesFallBackToScan() {
+        assertEquals(List.of(alice, malik), nameIndex.search("Al"));
+        assertEquals(List.of(alice, malik, bob), nameIndex.search(""));
+    }
+
+    @Test
+    void search_unknownTrigramReturnsNothing() {
+        assertTrue(nameIndex.search("xyz").isEmpty());
+    }
+
+    @Test
+    void addAndRemove_keepIndexInStep() {
+        EmployeeOutput alina = employee("4", "Alina Moss");
+        nameIndex.add(alina);
+        nameIndex.remove(alice);
+
+        assertEquals(List.of(malik, alina), nameIndex.search("ali"));
+
+        nameIndex.remove(malik);
+        assertEquals(List.of(alina), nameIndex.search("ali"));
+        assertEquals(List.of(bob), nameIndex.search("bob"));
+    }
+
+    private static EmployeeOutput employee(String id, String name) {
+        EmployeeOutput employee = new EmployeeOutput();
+        employee.setId(id);
+        employee.setName(name);
+        return employee;
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.EmployeeOutput;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    private final SalaryIndex salaryIndex = new SalaryIndex(3);
+
+    @Test
+    void rebuild_ordersBySalaryKeepingTiesStable() {
+        salaryIndex.rebuild(List.of(
+                employee("1", "A", 100), employee("2", "B", 300), employee("3", "C", 200), employee("4", "D", 300)));
+
+        assertEquals(300, salaryIndex.getHighestSalary());
+        assertEquals(List.of("B", "D", "C"), salaryIndex.getTopNames());
+    }
+
+    @Test
+    void add_updatesTopOnlyWhenItQualifies() {
+        salaryIndex.rebuild(List.of(employee("1", "A", 100), employee("2", "B", 200), employee("3", "C", 300)));
+
+        salaryIndex.add(employee("4", "D", 50));
+        assertEquals(List.of("C", "B", "A"), salaryIndex.getTopNames());
+
+        salaryIndex.add(employee("5", "E", 400));
+        assertEquals(400, salaryIndex.getHighestSalary());
+        assertEquals(List.of("E", "C", "B"), salaryIndex.getTopNames());
+    }
+
+    @Test
+    void remove_promotesNextEarner() {
+        EmployeeOutput top = employee("3", "C", 300);
+        salaryIndex.rebuild(List.of(
+                employee("1", "A", 100), employee("2", "B", 200), top, employee("4", "D", 50)));
+
+        salaryIndex.remove(top);
+
+        assertEquals(200, salaryIndex.getHighestSalary());
+        assertEquals(List.of("B", "A", "D"), salaryIndex.getTopNames());
+    }
+
+    @Test
+    void emptyIndex_reportsZero() {
+        salaryIndex.rebuild(List.of());
+
+        assertEquals(0, salaryIndex.getHighestSalary());
+        assertTrue(salaryIndex.getTopNames().isEmpty());
+    }
+
+    private static EmployeeOutput employee(String id, String name, int salary) {
+        EmployeeOutput employee = new EmployeeOutput();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setSalary(salary);
+        return employee;
+    }
+}
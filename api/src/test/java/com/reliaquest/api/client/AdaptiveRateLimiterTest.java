@@ -0,0 +1,85 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.TooManyRequestsException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    private AdaptiveRateLimiter limiter(int burst, int maxQueued, Duration maxWait) {
+        return new AdaptiveRateLimiter(1.0, 0.1, 10.0, 0.5, 0.5, burst, maxQueued, maxWait, now::get);
+    }
+
+    @Test
+    void reserve_allowsBurstThenPacesAtRate() {
+        AdaptiveRateLimiter limiter = limiter(2, 10, Duration.ofSeconds(30));
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(SECOND, limiter.reserve());
+        assertEquals(2 * SECOND, limiter.reserve());
+        assertEquals(2, limiter.getQueued());
+    }
+
+    @Test
+    void reserve_shedsWhenWaitWouldExceedMaxWait() {
+        AdaptiveRateLimiter limiter = limiter(1, 10, Duration.ofMillis(1500));
+
+        limiter.reserve();
+        limiter.reserve();
+
+        assertThrows(TooManyRequestsException.class, limiter::reserve);
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    void reserve_shedsWhenQueueIsFull() {
+        AdaptiveRateLimiter limiter = limiter(1, 1, Duration.ofSeconds(30));
+
+        limiter.reserve();
+        limiter.reserve();
+
+        assertThrows(TooManyRequestsException.class, limiter::reserve);
+    }
+
+    @Test
+    void feedback_increasesAdditivelyAndDecreasesMultiplicatively() {
+        AdaptiveRateLimiter limiter = limiter(1, 10, Duration.ofSeconds(30));
+
+        limiter.onSuccess();
+        limiter.onSuccess();
+        assertEquals(2.0, limiter.getRate(), 1e-9);
+
+        limiter.onThrottled(null);
+        assertEquals(1.0, limiter.getRate(), 1e-9);
+        assertEquals(1, limiter.getThrottledCount());
+    }
+
+    @Test
+    void onThrottled_honoursRetryAfter() {
+        AdaptiveRateLimiter limiter = limiter(5, 10, Duration.ofMinutes(5));
+
+        limiter.onThrottled(Duration.ofSeconds(60));
+
+        assertEquals(60 * SECOND, limiter.reserve());
+    }
+
+    @Test
+    void rate_neverDropsBelowMinimum() {
+        AdaptiveRateLimiter limiter = limiter(1, 10, Duration.ofSeconds(30));
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onThrottled(null);
+        }
+
+        assertEquals(0.1, limiter.getRate(), 1e-9);
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    private MicroBatcher<Integer, String> batcher(int maxBatchSize, Duration window) {
+        return new MicroBatcher<>(
+                "test",
+                maxBatchSize,
+                window,
+                items -> {
+                    batches.add(items);
+                    return items.stream().map(item -> "#" + item).toList();
+                },
+                timer,
+                Runnable::run);
+    }
+
+    @Test
+    void submit_flushesAsSoonAsBatchIsFull() throws Exception {
+        MicroBatcher<Integer, String> batcher = batcher(3, Duration.ofHours(1));
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+        assertFalse(first.isDone());
+        CompletableFuture<String> third = batcher.submit(3);
+
+        assertEquals("#1", first.get(1, TimeUnit.SECONDS));
+        assertEquals("#2", second.get(1, TimeUnit.SECONDS));
+        assertEquals("#3", third.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(1, 2, 3)), batches);
+        assertEquals(1, batcher.getBatchCount());
+        assertEquals(3, batcher.getItemCount());
+    }
+
+    @Test
+    void submit_flushesPartialBatchWhenWindowCloses() throws Exception {
+        MicroBatcher<Integer, String> batcher = batcher(100, Duration.ofMillis(20));
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        assertEquals("#1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("#2", second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(1, 2)), batches);
+    }
+
+    @Test
+    void submit_batchFailureFailsEveryCaller() {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(
+                "test",
+                2,
+                Duration.ofHours(1),
+                items -> {
+                    throw new IllegalStateException("upstream down");
+                },
+                timer,
+                Runnable::run);
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    void close_flushesBufferedItemsAndRejectsNewOnes() throws Exception {
+        MicroBatcher<Integer, String> batcher = batcher(100, Duration.ofHours(1));
+        CompletableFuture<String> pending = batcher.submit(1);
+
+        batcher.close();
+
+        assertEquals("#1", pending.get(1, TimeUnit.SECONDS));
+        assertThrows(RuntimeException.class, () -> batcher.submit(2));
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.model.*;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class ReactiveServerApiClientTest {
+
+    private static final String EMPLOYEE_JSON = "{\"id\":\"1\",\"employee_name\":\"Alice\",\"employee_salary\":100}";
+
+    private final Deque<ClientResponse> responses = new ArrayDeque<>();
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private ReactiveServerApiClient client(int maxAttempts, Duration budget) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost/api/v1/employee")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(responses.removeFirst());
+                })
+                .build();
+        return new ReactiveServerApiClient(webClient, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5), budget);
+    }
+
+    private static ClientResponse ok(String json) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build();
+    }
+
+    private static ClientResponse throttled(String retryAfter) {
+        return ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .build();
+    }
+
+    @Test
+    void getEmployeeById_completesEmptyOnNotFound() {
+        responses.add(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        assertNull(client(3, Duration.ofSeconds(1)).getEmployeeById("missing").block());
+    }
+
+    @Test
+    void getEmployeeById_retriesThrottledCalls() {
+        responses.add(throttled("0"));
+        responses.add(ok("{\"data\":" + EMPLOYEE_JSON + "}"));
+
+        EmployeeOutput employee =
+                client(3, Duration.ofSeconds(1)).getEmployeeById("1").block();
+
+        assertNotNull(employee);
+        assertEquals("1", employee.getId());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void getEmployeeById_givesUpAfterMaxAttempts() {
+        responses.add(throttled("0"));
+        responses.add(throttled("0"));
+
+        ReactiveServerApiClient client = client(2, Duration.ofSeconds(1));
+
+        assertThrows(TooManyRequestsException.class, () -> client.getEmployeeById("1").block());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void getEmployeeById_retryAfterBeyondBudgetFailsWithoutWaiting() {
+        responses.add(throttled("30"));
+
+        ReactiveServerApiClient client = client(5, Duration.ofSeconds(1));
+
+        assertThrows(TooManyRequestsException.class, () -> client.getEmployeeById("1").block());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void deleteEmployee_withKnownNameSendsSingleDelete() {
+        responses.add(ok("{\"status\":\"Successfully processed request.\",\"data\":true}"));
+
+        DeleteEmployeeResponse response =
+                client(3, Duration.ofSeconds(1)).deleteEmployee("1", "Alice").block();
+
+        assertNotNull(response);
+        assertEquals("Alice", response.getName());
+        assertEquals(1, requests.size());
+        assertEquals(HttpMethod.DELETE, requests.get(0).method());
+    }
+
+    @Test
+    void deleteEmployee_looksUpUnknownName() {
+        responses.add(ok("{\"data\":" + EMPLOYEE_JSON + "}"));
+        responses.add(ok("{\"status\":\"Successfully processed request.\",\"data\":true}"));
+
+        DeleteEmployeeResponse response =
+                client(3, Duration.ofSeconds(1)).deleteEmployee("1", null).block();
+
+        assertNotNull(response);
+        assertEquals("Alice", response.getName());
+        assertEquals(HttpMethod.GET, requests.get(0).method());
+        assertEquals(HttpMethod.DELETE, requests.get(1).method());
+    }
+}
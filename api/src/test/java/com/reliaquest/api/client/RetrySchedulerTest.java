@@ -0,0 +1,145 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.RequestShedException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RetrySchedulerTest {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService worker = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+        worker.shutdownNow();
+    }
+
+    private RetryScheduler scheduler(int maxAttempts, Duration budget) {
+        return new RetryScheduler(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(20), budget, timer, worker);
+    }
+
+    @Test
+    void execute_retriesThrottledCallsUntilTheySucceed() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryScheduler retryScheduler = scheduler(5, Duration.ofSeconds(5));
+
+        CompletableFuture<String> result = retryScheduler.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new TooManyRequestsException("slow down");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        assertEquals(2, retryScheduler.getRetriesScheduledCount());
+    }
+
+    @Test
+    void execute_doesNotBlockTheCallingThread() {
+        RetryScheduler retryScheduler = scheduler(3, Duration.ofSeconds(5));
+
+        CompletableFuture<String> result = retryScheduler.execute(() -> {
+            throw new TooManyRequestsException("slow down", Duration.ofSeconds(1));
+        });
+
+        assertFalse(result.isDone());
+    }
+
+    @Test
+    void executeInline_makesFirstAttemptOnCallingThread() throws Exception {
+        RetryScheduler retryScheduler = scheduler(3, Duration.ofSeconds(5));
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Thread> result = retryScheduler.executeInline(Thread::currentThread);
+
+        assertTrue(result.isDone());
+        assertSame(caller, result.get());
+    }
+
+    @Test
+    void execute_givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryScheduler retryScheduler = scheduler(3, Duration.ofSeconds(5));
+
+        CompletableFuture<String> result = retryScheduler.execute(() -> {
+            attempts.incrementAndGet();
+            throw new TooManyRequestsException("slow down");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TooManyRequestsException.class, ex.getCause());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void execute_retryAfterBeyondBudgetFailsWithoutWaiting() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryScheduler retryScheduler = scheduler(5, Duration.ofSeconds(1));
+
+        CompletableFuture<String> result = retryScheduler.execute(() -> {
+            attempts.incrementAndGet();
+            throw new TooManyRequestsException("slow down", Duration.ofSeconds(30));
+        });
+
+        assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertEquals(1, attempts.get());
+        assertEquals(1, retryScheduler.getBudgetExhaustedCount());
+    }
+
+    @Test
+    void execute_locallyShedCallsAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryScheduler retryScheduler = scheduler(5, Duration.ofSeconds(5));
+
+        CompletableFuture<String> result = retryScheduler.execute(() -> {
+            attempts.incrementAndGet();
+            throw new RequestShedException("budget exhausted locally");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RequestShedException.class, ex.getCause());
+        assertEquals(1, attempts.get());
+        assertEquals(0, retryScheduler.getRetriesScheduledCount());
+    }
+
+    @Test
+    void execute_otherFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryScheduler retryScheduler = scheduler(5, Duration.ofSeconds(5));
+
+        CompletableFuture<String> result = retryScheduler.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("bad input");
+        });
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void nextDelay_staysWithinBaseAndCap() {
+        RetryScheduler retryScheduler = scheduler(5, Duration.ofSeconds(5));
+        long base = Duration.ofMillis(1).toNanos();
+        long cap = Duration.ofMillis(20).toNanos();
+
+        long delay = base;
+        for (int i = 0; i < 100; i++) {
+            delay = retryScheduler.nextDelay(delay);
+            assertTrue(delay >= base && delay <= cap);
+        }
+    }
+}
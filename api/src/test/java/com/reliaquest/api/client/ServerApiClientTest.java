@@ -3,13 +3,31 @@ package com.reliaquest.api.client;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.reliaquest.api.model.*;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.http.*;
-import org.springframework.retry.RetryCallback;
-import org.springframework.retry.support.RetryTemplate;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 class ServerApiClientTest {
@@ -17,27 +35,33 @@ class ServerApiClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @Mock
-    private RetryTemplate retryTemplate;
-
     @InjectMocks
     private ServerApiClient serverApiClient;
 
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        serverApiClient = new ServerApiClient(restTemplate, retryTemplate, "http://localhost/api/employees");
+        RetryScheduler retryScheduler = new RetryScheduler(
+                1, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1), timer, Runnable::run);
+        serverApiClient = new ServerApiClient(restTemplate, retryScheduler, "http://localhost/api/employees");
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    private ResponseEntity<ListEmployeeServerResponse> exchangeListing() {
+        return restTemplate.exchange(
+                any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(ListEmployeeServerResponse.class));
     }
 
     @Test
     void getAllEmployeesFromServer_returnsEmployeeList() {
         ListEmployeeServerResponse mockResponse = new ListEmployeeServerResponse();
-        when(restTemplate.getForEntity(any(), eq(ListEmployeeServerResponse.class)))
-                .thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
-        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
-            RetryCallback callback = invocation.getArgument(0);
-            return callback.doWithRetry(null);
-        });
+        when(exchangeListing()).thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
         ListEmployeeServerResponse result = serverApiClient.getAllEmployeesFromServer();
 
         assertNotNull(result);
@@ -46,25 +70,185 @@ class ServerApiClientTest {
 
     @Test
     void getAllEmployeesFromServer_handlesRestTemplateException() {
-        when(restTemplate.getForEntity(anyString(), eq(ListEmployeeServerResponse.class)))
-                .thenThrow(new RuntimeException("RestTemplate error"));
-        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
-            RetryCallback callback = invocation.getArgument(0);
-            return callback.doWithRetry(null);
-        });
+        when(exchangeListing()).thenThrow(new RuntimeException("RestTemplate error"));
         assertThrows(RuntimeException.class, () -> serverApiClient.getAllEmployeesFromServer());
     }
 
+    @Test
+    void getAllEmployeesFromServer_replaysLastBodyWhenNotModified() {
+        ListEmployeeServerResponse listing = new ListEmployeeServerResponse();
+        HttpHeaders tagged = new HttpHeaders();
+        tagged.setETag("\"v7\"");
+        when(exchangeListing())
+                .thenReturn(new ResponseEntity<>(listing, tagged, HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(tagged, HttpStatus.NOT_MODIFIED));
+
+        serverApiClient.getAllEmployeesFromServer();
+        ListEmployeeServerResponse second = serverApiClient.getAllEmployeesFromServer();
+
+        assertSame(listing, second);
+        ArgumentCaptor<HttpEntity> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2))
+                .exchange(any(URI.class), eq(HttpMethod.GET), requests.capture(), eq(ListEmployeeServerResponse.class));
+        assertTrue(requests.getAllValues().get(0).getHeaders().getIfNoneMatch().isEmpty());
+        assertEquals(
+                List.of("\"v7\""), requests.getAllValues().get(1).getHeaders().getIfNoneMatch());
+    }
+
+    @Test
+    void forEachEmployee_notModifiedSkipsConsumer() throws Exception {
+        MockClientHttpResponse notModified = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(invocation -> invocation
+                        .<ResponseExtractor<EmployeeListing>>getArgument(3)
+                        .extractData(notModified));
+        List<EmployeeOutput> seen = new ArrayList<>();
+
+        EmployeeListing listing = serverApiClient.forEachEmployee("\"v7\"", seen::add);
+
+        assertTrue(listing.notModified());
+        assertEquals("\"v7\"", listing.etag());
+        assertTrue(seen.isEmpty());
+    }
+
+    @Test
+    void getChangesSince_requestsChangesAfterVersion() {
+        ChangeFeedServerResponse feed = new ChangeFeedServerResponse();
+        feed.setData(List.of());
+        feed.setVersion(12L);
+        when(restTemplate.getForEntity(any(URI.class), eq(ChangeFeedServerResponse.class)))
+                .thenReturn(new ResponseEntity<>(feed, HttpStatus.OK));
+
+        assertSame(feed, serverApiClient.getChangesSince(12, "e1", 100).orElseThrow());
+
+        ArgumentCaptor<URI> url = ArgumentCaptor.forClass(URI.class);
+        verify(restTemplate).getForEntity(url.capture(), eq(ChangeFeedServerResponse.class));
+        assertEquals("/api/employees/changes", url.getValue().getPath());
+        assertEquals("since=12&epoch=e1&limit=100", url.getValue().getQuery());
+    }
+
+    @Test
+    void getChangesSince_truncatedFeedIsEmpty() {
+        when(restTemplate.getForEntity(any(URI.class), eq(ChangeFeedServerResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.GONE, "Gone", HttpHeaders.EMPTY, null, null));
+
+        assertTrue(serverApiClient.getChangesSince(3, null, 100).isEmpty());
+    }
+
+    @Test
+    void searchEmployees_pushesFilterDownAndFollowsCursor() {
+        when(restTemplate.getForEntity(any(URI.class), eq(ListEmployeeServerResponse.class)))
+                .thenReturn(new ResponseEntity<>(page("c1", employee("1")), HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(page(null, employee("2")), HttpStatus.OK));
+
+        ListEmployeeServerResponse result = serverApiClient.searchEmployees(EmployeeSearch.byName("jo ann"));
+
+        assertEquals(List.of("1", "2"), result.getData().stream().map(EmployeeOutput::getId).toList());
+        assertNull(result.getCursor());
+        ArgumentCaptor<URI> url = ArgumentCaptor.forClass(URI.class);
+        verify(restTemplate, times(2)).getForEntity(url.capture(), eq(ListEmployeeServerResponse.class));
+        assertEquals("/api/employees/search", url.getAllValues().get(0).getPath());
+        assertEquals("name=jo%20ann&limit=500", url.getAllValues().get(0).getRawQuery());
+        assertEquals("name=jo%20ann&limit=500&cursor=c1", url.getAllValues().get(1).getRawQuery());
+    }
+
+    @Test
+    void createEmployees_resendsValidInputsWhenServerRejectsBatch() {
+        EmployeeInput good = new EmployeeInput();
+        EmployeeInput bad = new EmployeeInput();
+        byte[] rejection = ("{\"data\":[{\"index\":0},{\"index\":1,\"error\":\"salary must be greater than 0\"}],"
+                        + "\"status\":\"Failed to process request.\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        HttpHeaders json = new HttpHeaders();
+        json.setContentType(MediaType.APPLICATION_JSON);
+        HttpClientErrorException badRequest = HttpClientErrorException.create(
+                HttpStatus.BAD_REQUEST, "Bad Request", json, rejection, StandardCharsets.UTF_8);
+        badRequest.setBodyConvertFunction(type -> {
+            try {
+                return new ObjectMapper().readValue(rejection, (Class<?>) type);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        BatchItemOutput created = new BatchItemOutput();
+        created.setData(new EmployeeOutput());
+        BatchCreateServerResponse accepted = new BatchCreateServerResponse();
+        accepted.setData(List.of(created));
+        when(restTemplate.postForEntity(endsWith("/batch"), any(), eq(BatchCreateServerResponse.class)))
+                .thenThrow(badRequest)
+                .thenReturn(new ResponseEntity<>(accepted, HttpStatus.OK));
+
+        List<BatchItemOutput> results = serverApiClient.createEmployees(List.of(good, bad));
+
+        assertSame(created.getData(), results.get(0).getData());
+        assertEquals("salary must be greater than 0", results.get(1).getError());
+        ArgumentCaptor<HttpEntity> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2))
+                .postForEntity(endsWith("/batch"), requests.capture(), eq(BatchCreateServerResponse.class));
+        assertEquals(List.of(good), requests.getAllValues().get(1).getBody());
+    }
+
+    @Test
+    void createEmployee_goesThroughBatcherWhenEnabled() {
+        BatchItemOutput created = new BatchItemOutput();
+        created.setData(new EmployeeOutput());
+        serverApiClient.setCreateBatcher(new MicroBatcher<>(
+                "test", 1, Duration.ZERO, inputs -> List.of(created), timer, Runnable::run));
+
+        SingleEmployeeServerResponse response = serverApiClient.createEmployee(new EmployeeInput());
+
+        assertSame(created.getData(), response.getData());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void getEmployeesByIds_matchesResultsToIdsAndSkipsMalformedIds() {
+        String known = "5255f1a5-f9f7-4be5-829a-134bde088d17";
+        String unknown = "d005f39a-beb8-4390-afec-fd54e91d94ee";
+        EmployeeOutput employee = new EmployeeOutput();
+        employee.setId(known);
+        ListEmployeeServerResponse found = new ListEmployeeServerResponse();
+        found.setData(List.of(employee));
+        when(restTemplate.postForEntity(endsWith("/lookup"), any(), eq(ListEmployeeServerResponse.class)))
+                .thenReturn(new ResponseEntity<>(found, HttpStatus.OK));
+
+        List<SingleEmployeeServerResponse> results =
+                serverApiClient.getEmployeesByIds(List.of(unknown, "not-a-uuid", known.toUpperCase()));
+
+        assertNull(results.get(0).getData());
+        assertNull(results.get(1).getData());
+        assertSame(employee, results.get(2).getData());
+        ArgumentCaptor<HttpEntity> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate)
+                .postForEntity(endsWith("/lookup"), request.capture(), eq(ListEmployeeServerResponse.class));
+        assertEquals(List.of(UUID.fromString(unknown), UUID.fromString(known)), request.getValue().getBody());
+    }
+
+    @Test
+    void getEmployeesByIds_doesNotCallServerWithoutWellFormedIds() {
+        List<SingleEmployeeServerResponse> results = serverApiClient.getEmployeesByIds(List.of("not-a-uuid"));
+
+        assertNull(results.get(0).getData());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void getEmployeeById_goesThroughLookupBatcherWhenEnabled() {
+        SingleEmployeeServerResponse found = new SingleEmployeeServerResponse();
+        found.setData(new EmployeeOutput());
+        serverApiClient.setLookupBatcher(new MicroBatcher<>(
+                "test", 1, Duration.ZERO, ids -> List.of(found), timer, Runnable::run));
+
+        assertSame(found, serverApiClient.getEmployeeById("5255f1a5-f9f7-4be5-829a-134bde088d17"));
+        verifyNoInteractions(restTemplate);
+    }
+
     @Test
     void getEmployeeById_returnsEmployee() {
         String id = "123";
         SingleEmployeeServerResponse mockResponse = new SingleEmployeeServerResponse();
         when(restTemplate.getForEntity(contains(id), eq(SingleEmployeeServerResponse.class)))
                 .thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
-        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
-            RetryCallback callback = invocation.getArgument(0);
-            return callback.doWithRetry(null);
-        });
         SingleEmployeeServerResponse result = serverApiClient.getEmployeeById(id);
 
         assertNotNull(result);
@@ -76,10 +260,6 @@ class ServerApiClientTest {
         String id = "notfound";
         when(restTemplate.getForEntity(contains(id), eq(SingleEmployeeServerResponse.class)))
                 .thenReturn(new ResponseEntity<>(null, HttpStatus.OK));
-        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
-            RetryCallback callback = invocation.getArgument(0);
-            return callback.doWithRetry(null);
-        });
         assertThrows(IllegalArgumentException.class, () -> serverApiClient.getEmployeeById(id));
     }
 
@@ -89,10 +269,6 @@ class ServerApiClientTest {
         SingleEmployeeServerResponse mockResponse = new SingleEmployeeServerResponse();
         when(restTemplate.postForEntity(anyString(), any(), eq(SingleEmployeeServerResponse.class)))
                 .thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
-        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
-            RetryCallback callback = invocation.getArgument(0);
-            return callback.doWithRetry(null);
-        });
         SingleEmployeeServerResponse result = serverApiClient.createEmployee(input);
 
         assertNotNull(result);
@@ -104,10 +280,6 @@ class ServerApiClientTest {
         EmployeeInput input = new EmployeeInput();
         when(restTemplate.postForEntity(anyString(), any(), eq(SingleEmployeeServerResponse.class)))
                 .thenReturn(new ResponseEntity<>(null, HttpStatus.BAD_REQUEST));
-        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
-            RetryCallback callback = invocation.getArgument(0);
-            return callback.doWithRetry(null);
-        });
         assertThrows(IllegalStateException.class, () -> serverApiClient.createEmployee(input));
     }
 
@@ -120,10 +292,6 @@ class ServerApiClientTest {
         when(employeeResponse.getData()).thenReturn(employee);
 
         DeleteEmployeeResponse deleteResponse = new DeleteEmployeeResponse("", true);
-        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
-            RetryCallback callback = invocation.getArgument(0);
-            return callback.doWithRetry(null);
-        });
         when(restTemplate.getForEntity(contains(id), eq(SingleEmployeeServerResponse.class)))
                 .thenReturn(new ResponseEntity<>(employeeResponse, HttpStatus.OK));
         when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(), eq(DeleteEmployeeResponse.class)))
@@ -144,13 +312,135 @@ class ServerApiClientTest {
         String id = "notfound";
         SingleEmployeeServerResponse employeeResponse = mock(SingleEmployeeServerResponse.class);
         when(employeeResponse.getData()).thenReturn(null);
-        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
-            RetryCallback callback = invocation.getArgument(0);
-            return callback.doWithRetry(null);
-        });
         ServerApiClient spyClient = spy(serverApiClient);
         doReturn(employeeResponse).when(spyClient).getEmployeeById(id);
 
         assertThrows(IllegalArgumentException.class, () -> spyClient.deleteEmployee(id));
     }
+
+    @Test
+    void deleteEmployee_withKnownNameSkipsLookup() {
+        DeleteEmployeeResponse deleteResponse = new DeleteEmployeeResponse("", true);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(), eq(DeleteEmployeeResponse.class)))
+                .thenReturn(new ResponseEntity<>(deleteResponse, HttpStatus.OK));
+
+        DeleteEmployeeResponse result = serverApiClient.deleteEmployee("123", "John Doe");
+
+        assertEquals("John Doe", result.getName());
+        verify(restTemplate, never()).getForEntity(anyString(), eq(SingleEmployeeServerResponse.class));
+        verify(restTemplate, times(1))
+                .exchange(anyString(), eq(HttpMethod.DELETE), any(), eq(DeleteEmployeeResponse.class));
+    }
+
+    @Test
+    void streamAllEmployees_followsCursorsLazily() {
+        ListEmployeeServerResponse first = page("c1", employee("1"), employee("2"));
+        ListEmployeeServerResponse last = page(null, employee("3"));
+        when(restTemplate.getForEntity(any(URI.class), eq(ListEmployeeServerResponse.class)))
+                .thenReturn(new ResponseEntity<>(first, HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(last, HttpStatus.OK));
+
+        Stream<EmployeeOutput> employees = serverApiClient.streamAllEmployees(2);
+        verifyNoInteractions(restTemplate);
+
+        assertEquals(List.of("1", "2", "3"), employees.map(EmployeeOutput::getId).toList());
+        ArgumentCaptor<URI> urls = ArgumentCaptor.forClass(URI.class);
+        verify(restTemplate, times(2)).getForEntity(urls.capture(), eq(ListEmployeeServerResponse.class));
+        assertEquals("limit=2", urls.getAllValues().get(0).getQuery());
+        assertEquals("limit=2&cursor=c1", urls.getAllValues().get(1).getQuery());
+    }
+
+    @Test
+    void streamAllEmployees_stopsAfterFirstPageWhenConsumerStops() {
+        when(restTemplate.getForEntity(any(URI.class), eq(ListEmployeeServerResponse.class)))
+                .thenReturn(new ResponseEntity<>(page("c1", employee("1"), employee("2")), HttpStatus.OK));
+
+        assertEquals(1, serverApiClient.streamAllEmployees(2).limit(1).count());
+        verify(restTemplate, times(1)).getForEntity(any(URI.class), eq(ListEmployeeServerResponse.class));
+    }
+
+    @Test
+    void getEmployeePage_expiredCursorFails() {
+        when(restTemplate.getForEntity(any(URI.class), eq(ListEmployeeServerResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.GONE, "Gone", HttpHeaders.EMPTY, null, null));
+
+        assertThrows(IllegalStateException.class, () -> serverApiClient.getEmployeePage("stale", 10));
+    }
+
+    @Test
+    void readEmployees_parsesNdjsonRowByRow() throws Exception {
+        MockClientHttpResponse response = new MockClientHttpResponse(
+                ("{\"id\":\"1\",\"employee_salary\":10,\"unknown\":true}\n{\"id\":\"2\",\"employee_salary\":20}\n")
+                        .getBytes(StandardCharsets.UTF_8),
+                HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+        List<EmployeeOutput> employees = new ArrayList<>();
+
+        ServerApiClient.readEmployees(response, employees::add);
+
+        assertEquals(List.of(10, 20), employees.stream().map(EmployeeOutput::getSalary).toList());
+    }
+
+    @Test
+    void readEmployees_parsesEnvelopedArray() throws Exception {
+        MockClientHttpResponse response = new MockClientHttpResponse(
+                ("{\"status\":\"ok\",\"data\":[{\"id\":\"1\",\"employee_name\":\"Alice\"}],\"extra\":{\"a\":[1]}}")
+                        .getBytes(StandardCharsets.UTF_8),
+                HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        List<EmployeeOutput> employees = new ArrayList<>();
+
+        ServerApiClient.readEmployees(response, employees::add);
+
+        assertEquals(1, employees.size());
+        assertEquals("Alice", employees.get(0).getName());
+    }
+
+    @Test
+    void forEachEmployee_asksForEnvelopedSmileWhenPreferred() throws Exception {
+        ReflectionTestUtils.setField(serverApiClient, "preferSmile", true);
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        MockClientHttpResponse notModified = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(invocation -> {
+                    invocation.<RequestCallback>getArgument(2).doWithRequest(request);
+                    return invocation.<ResponseExtractor<EmployeeListing>>getArgument(3).extractData(notModified);
+                });
+
+        serverApiClient.forEachEmployee("\"v7\"", employee -> {});
+
+        assertEquals(
+                List.of(MediaType.valueOf("application/x-jackson-smile"), MediaType.APPLICATION_JSON),
+                request.getHeaders().getAccept());
+    }
+
+    @Test
+    void readEmployees_parsesSmileEnvelopedArray() throws Exception {
+        byte[] body = SmileMapper.builder()
+                .build()
+                .writeValueAsBytes(Map.of(
+                        "status", "ok",
+                        "data", List.of(Map.of("id", "1", "employee_name", "Alice", "unknown", true))));
+        MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.valueOf("application/x-jackson-smile"));
+        List<EmployeeOutput> employees = new ArrayList<>();
+
+        ServerApiClient.readEmployees(response, employees::add);
+
+        assertEquals(1, employees.size());
+        assertEquals("Alice", employees.get(0).getName());
+    }
+
+    private static ListEmployeeServerResponse page(String cursor, EmployeeOutput... employees) {
+        ListEmployeeServerResponse page = new ListEmployeeServerResponse();
+        page.setData(List.of(employees));
+        page.setCursor(cursor);
+        return page;
+    }
+
+    private static EmployeeOutput employee(String id) {
+        EmployeeOutput employee = new EmployeeOutput();
+        employee.setId(id);
+        return employee;
+    }
 }
@@ -0,0 +1,81 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentCallersShareOneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> leader = executor.submit(() -> singleFlight.execute("list", () -> {
+            calls.incrementAndGet();
+            awaitQuietly(release);
+            return 42;
+        }));
+        while (singleFlight.getInFlightCount() == 0) {
+            Thread.onSpinWait();
+        }
+        List<Future<Integer>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("list", calls::incrementAndGet)));
+        }
+        while (singleFlight.getCoalescedCount() < 5) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals(42, leader.get(1, TimeUnit.SECONDS));
+        for (Future<Integer> follower : followers) {
+            assertEquals(42, follower.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getExecutedCount());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void execute_failureIsRethrownAndNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("list", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(7, singleFlight.execute("list", () -> 7));
+        assertEquals(2, singleFlight.getExecutedCount());
+    }
+
+    @Test
+    void execute_differentKeysDoNotCoalesce() {
+        assertEquals(1, singleFlight.execute("a", () -> 1));
+        assertEquals(2, singleFlight.execute("b", () -> 2));
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
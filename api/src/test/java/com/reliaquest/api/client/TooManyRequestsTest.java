@@ -6,38 +6,45 @@ import static org.mockito.Mockito.when;
 
 import com.reliaquest.api.exception.TooManyRequestsException;
 import com.reliaquest.api.model.ListEmployeeServerResponse;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.retry.RetryCallback;
-import org.springframework.retry.support.RetryTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 public class TooManyRequestsTest {
 
-    @Mock
-    private RetryTemplate retryTemplate;
-
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
-    private ServerApiClient serverApiClient;
+    private final ServerApiClient serverApiClient;
 
     public TooManyRequestsTest() {
         MockitoAnnotations.openMocks(this);
+        RetryScheduler retryScheduler = new RetryScheduler(
+                1,
+                Duration.ZERO,
+                Duration.ZERO,
+                Duration.ofSeconds(1),
+                Executors.newSingleThreadScheduledExecutor(),
+                Runnable::run);
+        serverApiClient = new ServerApiClient(restTemplate, retryScheduler, null);
         serverApiClient.setServerBaseUrl("http://localhost/api/employees");
     }
 
     @Test
     void getAllEmployeesFromServer_tooManyRequests_throwsException() {
-        when(restTemplate.getForEntity(any(), eq(ListEmployeeServerResponse.class)))
+        when(restTemplate.exchange(
+                        any(URI.class),
+                        eq(HttpMethod.GET),
+                        any(HttpEntity.class),
+                        eq(ListEmployeeServerResponse.class)))
                 .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
-        when(retryTemplate.execute(any())).thenAnswer(invocation -> {
-            RetryCallback callback = invocation.getArgument(0);
-            return callback.doWithRetry(null);
-        });
 
         assertThrows(TooManyRequestsException.class, () -> serverApiClient.getAllEmployeesFromServer());
     }
@@ -0,0 +1,75 @@
+package com.reliaquest.api.config;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.model.ListEmployeeServerResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class RestTemplateConfigTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final CloseableHttpClient httpClient = HttpClients.createDefault();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+    }
+
+    @Test
+    void restTemplate_asksForSmileFirstAndReadsIt() throws Exception {
+        RestTemplate restTemplate = restTemplate(true);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        byte[] smile = new ObjectMapper(new SmileFactory())
+                .writeValueAsBytes(Map.of("data", List.of(Map.of("id", "1", "employee_name", "Alice"))));
+        server.expect(requestTo("http://localhost/api"))
+                .andExpect(header("Accept", startsWith(SMILE.toString())))
+                .andRespond(withSuccess(smile, SMILE));
+
+        ListEmployeeServerResponse response =
+                restTemplate.getForObject("http://localhost/api", ListEmployeeServerResponse.class);
+
+        assertEquals("Alice", response.getData().get(0).getName());
+        server.verify();
+    }
+
+    @Test
+    void restTemplate_keepsJsonFirstWhenSmileIsOff() {
+        RestTemplate restTemplate = restTemplate(false);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://localhost/api"))
+                .andExpect(header("Accept", startsWith(MediaType.APPLICATION_JSON_VALUE)))
+                .andRespond(withSuccess("{\"data\":[]}", MediaType.APPLICATION_JSON));
+
+        assertNotNull(restTemplate.getForObject("http://localhost/api", ListEmployeeServerResponse.class));
+        server.verify();
+    }
+
+    @SuppressWarnings("unchecked")
+    private RestTemplate restTemplate(boolean preferSmile) {
+        RestTemplateConfig config = new RestTemplateConfig();
+        ReflectionTestUtils.setField(config, "preferSmile", preferSmile);
+        ObjectProvider<ClientHttpRequestInterceptor> interceptors = mock(ObjectProvider.class);
+        when(interceptors.orderedStream()).thenReturn(Stream.empty());
+        return config.restTemplate(httpClient, interceptors);
+    }
+}
@@ -3,17 +3,23 @@ package com.reliaquest.api.controller;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.client.EmployeeListing;
+import com.reliaquest.api.client.EmployeeSearch;
 import com.reliaquest.api.client.ServerApiClient;
 import com.reliaquest.api.model.*;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 
 class EmployeeControllerImplTest {
 
@@ -26,14 +32,15 @@ class EmployeeControllerImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        EmployeeCache employeeCache = new EmployeeCache(
+                serverApiClient, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(controller, "employeeCache", employeeCache);
     }
 
     @Test
     void getAllEmployees_returnsEmployeeList() {
         List<EmployeeOutput> employees = Arrays.asList(new EmployeeOutput(), new EmployeeOutput());
-        ListEmployeeServerResponse response = mock(ListEmployeeServerResponse.class);
-        when(response.getData()).thenReturn(employees);
-        when(serverApiClient.getAllEmployeesFromServer()).thenReturn(response);
+        stubEmployees(employees);
 
         ResponseEntity<List<EmployeeOutput>> result = controller.getAllEmployees();
         assertEquals(employees, result.getBody());
@@ -46,12 +53,24 @@ class EmployeeControllerImplTest {
         EmployeeOutput e2 = new EmployeeOutput();
         e2.setName("Bob");
         List<EmployeeOutput> employees = Arrays.asList(e1, e2);
-        ListEmployeeServerResponse response = mock(ListEmployeeServerResponse.class);
-        when(response.getData()).thenReturn(employees);
-        when(serverApiClient.getAllEmployeesFromServer()).thenReturn(response);
+        stubEmployees(employees);
+        controller.getAllEmployees();
 
         ResponseEntity<List<EmployeeOutput>> result = controller.getEmployeesByNameSearch("ali");
         assertEquals(Collections.singletonList(e1), result.getBody());
+        verify(serverApiClient, never()).searchEmployees(any());
+    }
+
+    @Test
+    void getEmployeesByNameSearch_coldCacheAsksServer() {
+        EmployeeOutput alice = new EmployeeOutput();
+        alice.setName("Alice");
+        ListEmployeeServerResponse response = new ListEmployeeServerResponse();
+        response.setData(List.of(alice));
+        when(serverApiClient.searchEmployees(EmployeeSearch.byName("ali"))).thenReturn(response);
+
+        ResponseEntity<List<EmployeeOutput>> result = controller.getEmployeesByNameSearch("ali");
+        assertEquals(List.of(alice), result.getBody());
     }
 
     @Test
@@ -82,12 +101,24 @@ class EmployeeControllerImplTest {
         EmployeeOutput e2 = new EmployeeOutput();
         e2.setSalary(200);
         List<EmployeeOutput> employees = Arrays.asList(e1, e2);
-        ListEmployeeServerResponse response = mock(ListEmployeeServerResponse.class);
-        when(response.getData()).thenReturn(employees);
-        when(serverApiClient.getAllEmployeesFromServer()).thenReturn(response);
+        stubEmployees(employees);
+        controller.getAllEmployees();
 
         ResponseEntity<Integer> result = controller.getHighestSalaryOfEmployees();
         assertEquals(200, result.getBody());
+        verify(serverApiClient, never()).getEmployeeStats();
+    }
+
+    @Test
+    void getHighestSalaryOfEmployees_coldCacheAsksServer() {
+        EmployeeStatsOutput stats = new EmployeeStatsOutput();
+        stats.setMaxSalary(300);
+        EmployeeStatsServerResponse response = new EmployeeStatsServerResponse();
+        response.setData(stats);
+        when(serverApiClient.getEmployeeStats()).thenReturn(response);
+
+        ResponseEntity<Integer> result = controller.getHighestSalaryOfEmployees();
+        assertEquals(300, result.getBody());
     }
 
     @Test
@@ -99,12 +130,25 @@ class EmployeeControllerImplTest {
         e2.setName("B");
         e2.setSalary(200);
         List<EmployeeOutput> employees = Arrays.asList(e1, e2);
-        ListEmployeeServerResponse response = mock(ListEmployeeServerResponse.class);
-        when(response.getData()).thenReturn(employees);
-        when(serverApiClient.getAllEmployeesFromServer()).thenReturn(response);
+        stubEmployees(employees);
+        controller.getAllEmployees();
 
         ResponseEntity<List<String>> result = controller.getTopTenHighestEarningEmployeeNames();
         assertEquals(Arrays.asList("B", "A"), result.getBody());
+        verify(serverApiClient, never()).getTopEarners(anyInt());
+    }
+
+    @Test
+    void getTopTenHighestEarningEmployeeNames_coldCacheAsksServer() {
+        EmployeeOutput top = new EmployeeOutput();
+        top.setName("C");
+        top.setSalary(300);
+        ListEmployeeServerResponse response = new ListEmployeeServerResponse();
+        response.setData(List.of(top));
+        when(serverApiClient.getTopEarners(anyInt())).thenReturn(response);
+
+        ResponseEntity<List<String>> result = controller.getTopTenHighestEarningEmployeeNames();
+        assertEquals(List.of("C"), result.getBody());
     }
 
     @Test
@@ -128,7 +172,7 @@ class EmployeeControllerImplTest {
     void deleteEmployeeById_success() {
         DeleteEmployeeResponse response = mock(DeleteEmployeeResponse.class);
         when(response.getName()).thenReturn("John");
-        when(serverApiClient.deleteEmployee("1")).thenReturn(response);
+        when(serverApiClient.deleteEmployee("1", null)).thenReturn(response);
 
         ResponseEntity<String> result = controller.deleteEmployeeById("1");
         assertEquals(200, result.getStatusCode().value());
@@ -139,9 +183,34 @@ class EmployeeControllerImplTest {
     void deleteEmployeeById_failure() {
         DeleteEmployeeResponse response = mock(DeleteEmployeeResponse.class);
         when(response.getName()).thenReturn("");
-        when(serverApiClient.deleteEmployee("1")).thenReturn(response);
+        when(serverApiClient.deleteEmployee("1", null)).thenReturn(response);
 
         ResponseEntity<String> result = controller.deleteEmployeeById("1");
         assertEquals(500, result.getStatusCodeValue());
     }
+
+    @Test
+    void deleteEmployeeById_passesCachedNameToClient() {
+        EmployeeOutput employee = new EmployeeOutput();
+        employee.setId("1");
+        employee.setName("John");
+        stubEmployees(List.of(employee));
+        controller.getAllEmployees();
+
+        DeleteEmployeeResponse response = mock(DeleteEmployeeResponse.class);
+        when(response.getName()).thenReturn("John");
+        when(serverApiClient.deleteEmployee("1", "John")).thenReturn(response);
+
+        ResponseEntity<String> result = controller.deleteEmployeeById("1");
+        assertEquals("John", result.getBody());
+        verify(serverApiClient, never()).getEmployeeById(any());
+    }
+
+    private void stubEmployees(List<EmployeeOutput> employees) {
+        when(serverApiClient.forEachEmployee(any(), any())).thenAnswer(invocation -> {
+            Consumer<EmployeeOutput> consumer = invocation.getArgument(1);
+            employees.forEach(consumer);
+            return new EmployeeListing(false, null, null, null);
+        });
+    }
 }
@@ -0,0 +1,91 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.store.MockEmployeeGenerator;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Encoding the full listing on the server and decoding it the way the api does, as JSON and as Smile. Setup prints the
+ * encoded size of each, since payload size is half of what the format choice is about.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"1000", "100000"})
+    private int employees;
+
+    @Param({"json", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private ObjectReader reader;
+    private Response<List<MockEmployee>> listing;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "smile".equals(format) ? new ObjectMapper(new SmileFactory()) : new ObjectMapper();
+        reader = mapper.readerFor(Listing.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        listing = Response.handledWith(
+                MockEmployeeGenerator.withSeed(42L, Locale.US).generate(employees));
+        encoded = mapper.writeValueAsBytes(listing);
+        System.out.printf("%n%s listing of %d employees: %d bytes%n", format, employees, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(listing);
+    }
+
+    @Benchmark
+    public Listing decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    /**
+     * Same shape as the api's {@code ListEmployeeServerResponse}.
+     */
+    public static class Listing {
+        public List<Employee> data;
+        public String status;
+    }
+
+    /**
+     * Same shape as the api's {@code EmployeeOutput}.
+     */
+    public static class Employee {
+        public String id;
+
+        @JsonProperty("employee_name")
+        public String name;
+
+        @JsonProperty("employee_salary")
+        public int salary;
+
+        @JsonProperty("employee_age")
+        public int age;
+
+        @JsonProperty("employee_title")
+        public String title;
+
+        @JsonProperty("employee_email")
+        public String email;
+    }
+}
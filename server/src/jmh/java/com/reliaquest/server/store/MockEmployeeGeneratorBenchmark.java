@@ -0,0 +1,43 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Time to generate a seeded dataset and load it into a {@link MockEmployeeStore}, as the server does at startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MockEmployeeGeneratorBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int employees;
+
+    private MockEmployeeGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new MockEmployeeGenerator(42L, Locale.US);
+    }
+
+    @Benchmark
+    public List<MockEmployee> generate() {
+        return generator.generate(employees);
+    }
+
+    @Benchmark
+    public MockEmployeeStore generateAndLoad() {
+        return new MockEmployeeStore(generator.generate(employees));
+    }
+}
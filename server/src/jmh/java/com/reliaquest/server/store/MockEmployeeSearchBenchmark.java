@@ -0,0 +1,79 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * First page of a narrow salary-range search and of a title search, answered from the store's indexes, next to the
+ * same filter applied to a stream over the listing. The {@code scan} scores fall with the store size; the indexed ones
+ * should not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MockEmployeeSearchBenchmark {
+
+    private static final int PAGE = 100;
+    private static final String[] TITLES = {"Engineer", "Manager", "Analyst", "Designer", "Director"};
+
+    @Param({"1000", "100000"})
+    private int employees;
+
+    private MockEmployeeStore store;
+    private EmployeeQuery narrowSalary;
+    private EmployeeQuery byTitle;
+
+    @Setup
+    public void setUp() {
+        List<MockEmployee> seed = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            seed.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Seed " + i)
+                    .salary(30_000 + (i * 7919) % 470_000)
+                    .age(18 + i % 57)
+                    .title(TITLES[i % TITLES.length] + " " + (i % 200))
+                    .email("bench@company.com")
+                    .build());
+        }
+        store = new MockEmployeeStore(seed);
+        // Roughly 0.2% of the salary spread.
+        narrowSalary = new EmployeeQuery(null, 250_000, 251_000, null, null, null);
+        byTitle = new EmployeeQuery(null, null, null, null, null, "manager 41");
+    }
+
+    @Benchmark
+    public List<MockEmployee> indexedSalaryRange() {
+        return store.search(narrowSalary, null, PAGE).employees();
+    }
+
+    @Benchmark
+    public List<MockEmployee> scanSalaryRange() {
+        return scan(narrowSalary);
+    }
+
+    @Benchmark
+    public List<MockEmployee> indexedTitle() {
+        return store.search(byTitle, null, PAGE).employees();
+    }
+
+    @Benchmark
+    public List<MockEmployee> scanTitle() {
+        return scan(byTitle);
+    }
+
+    private List<MockEmployee> scan(EmployeeQuery query) {
+        return store.findAll().stream().filter(query::matches).limit(PAGE).toList();
+    }
+}
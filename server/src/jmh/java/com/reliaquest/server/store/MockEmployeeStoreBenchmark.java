@@ -0,0 +1,92 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * List reads against {@link MockEmployeeStore} on their own and alongside a writer that keeps creating and deleting
+ * employees. With snapshot reads the {@code mixed:list} score should stay close to {@code readOnly:list}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MockEmployeeStoreBenchmark {
+
+    @Param({"1000", "100000"})
+    private int employees;
+
+    private MockEmployeeStore store;
+    private long written;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        List<MockEmployee> seed = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            seed.add(employee("Seed " + i));
+        }
+        store = new MockEmployeeStore(seed);
+        written = 0;
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(4)
+    public void readOnlyList(Blackhole blackhole) {
+        list(blackhole);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void mixedList(Blackhole blackhole) {
+        list(blackhole);
+    }
+
+    /**
+     * Alternates create and delete so the store stays the same size.
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedWrite(Blackhole blackhole) {
+        long n = written++;
+        if ((n & 1) == 0) {
+            store.add(employee("Writer " + n));
+        } else {
+            blackhole.consume(store.removeByName("Writer " + (n - 1)));
+        }
+    }
+
+    private void list(Blackhole blackhole) {
+        // Walk the snapshot the way Jackson would while serializing it.
+        for (MockEmployee employee : store.findAll()) {
+            blackhole.consume(employee.getSalary());
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50_000)
+                .age(30)
+                .title("Engineer")
+                .email("bench@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.persistence.EmployeeStorePersistence;
+import com.reliaquest.server.persistence.FsyncPolicy;
+import com.reliaquest.server.store.MockEmployeeGenerator;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Enabled with {@code mock.persistence.enabled}: the store is recovered from, and logged to, a directory on disk
+ * instead of being generated afresh on every start.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+public class PersistenceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public EmployeeStorePersistence employeeStorePersistence(
+            @Value("${mock.persistence.directory:data}") Path directory,
+            @Value("${mock.persistence.segment-size:64MB}") DataSize segmentSize,
+            @Value("${mock.persistence.fsync:interval}") FsyncPolicy fsyncPolicy,
+            @Value("${mock.persistence.fsync-interval:100ms}") Duration fsyncInterval,
+            @Value("${mock.persistence.snapshot-interval:5m}") Duration snapshotInterval) {
+        return new EmployeeStorePersistence(
+                directory, (int) segmentSize.toBytes(), fsyncPolicy, fsyncInterval, snapshotInterval);
+    }
+
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            EmployeeStorePersistence employeeStorePersistence,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed)
+            throws IOException {
+        return employeeStorePersistence.open(
+                () -> MockEmployeeGenerator.withSeed(seed, Locale.getDefault()).generate(maxEmployees));
+    }
+}
@@ -1,21 +1,19 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.store.ChangeLog;
+import com.reliaquest.server.store.MockEmployeeGenerator;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.web.ClientRateLimitInterceptor;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -25,35 +23,66 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${mock.rate-limit.requests-per-second:0.2}")
+    private double requestsPerSecond;
+
+    @Value("${mock.rate-limit.burst:10}")
+    private int burst;
+
+    @Value("${mock.rate-limit.client-header:X-Client-Id}")
+    private String clientHeader;
+
+    @Value("${mock.rate-limit.max-clients:10000}")
+    private int maxClients;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Set mock.employees.seed to reproduce a dataset; the seed of every run is logged at startup.
+     * With mock.persistence.enabled the store comes from PersistenceConfiguration instead.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "false", matchIfMissing = true)
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed) {
+        return new MockEmployeeStore(
+                MockEmployeeGenerator.withSeed(seed, Locale.getDefault()).generate(maxEmployees));
+    }
+
+    /*
+     * Fed only with committed writes: the store tells it of a write after any write-ahead log has accepted it.
+     */
+    @Bean
+    public ChangeLog changeLog(
+            MockEmployeeStore mockEmployeeStore, @Value("${mock.changes.capacity:1024}") int capacity) {
+        ChangeLog changeLog = new ChangeLog(capacity, mockEmployeeStore.current().number());
+        mockEmployeeStore.addListener(changeLog);
+        return changeLog;
+    }
+
+    /*
+     * Answers clients that send Accept: application/x-jackson-smile in Smile, Jackson's binary form of JSON, and reads
+     * Smile request bodies. It joins the MVC converters next to their default Smile one, behind JSON, so clients that
+     * accept any type, or ask for nothing in particular, still get JSON.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.factory(new SmileFactory()).build());
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (rateLimitEnabled) {
+            registry.addInterceptor(
+                    new ClientRateLimitInterceptor(clientHeader, requestsPerSecond, burst, maxClients));
+        }
     }
 }
@@ -1,51 +1,316 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeStats;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.PageCursor;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.SearchCursor;
+import com.reliaquest.server.service.ChangeEventBroadcaster;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.EmployeeChange;
+import com.reliaquest.server.store.EmployeeQuery;
+import com.reliaquest.server.store.SearchPage;
+import com.reliaquest.server.store.Version;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    /**
+     * Store version a listing was read from.
+     */
+    public static final String STORE_VERSION_HEADER = "X-Store-Version";
+
+    /**
+     * Run of the store that version numbers belong to; pass it back to {@code /changes} as {@code epoch}.
+     */
+    public static final String STORE_EPOCH_HEADER = "X-Store-Epoch";
+
     private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
+    private final ChangeEventBroadcaster changeEventBroadcaster;
+    private final Validator validator;
+
+    @Value("${mock.employees.max-page-size:1000}")
+    private int maxPageSize;
 
+    @Value("${mock.employees.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    /**
+     * Returns every employee unless {@code limit} or {@code cursor} is given. In that case it returns one page plus a
+     * cursor for the next page. All pages reached from one first page come from the same store version.
+     *
+     * <p>The full listing carries an ETag of its store version; a matching {@code If-None-Match} is answered with 304
+     * and no body.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (limit == null && cursor == null) {
+            Version version = mockEmployeeService.snapshot();
+            // The framework compares the ETag with If-None-Match and skips serializing the body on a match.
+            return ResponseEntity.ok()
+                    .eTag(mockEmployeeService.etag(version))
+                    .header(STORE_VERSION_HEADER, String.valueOf(version.number()))
+                    .header(STORE_EPOCH_HEADER, mockEmployeeService.epoch())
+                    .body(Response.handledWith(version.employees()));
+        }
+        final PageCursor pageCursor;
+        try {
+            pageCursor = cursor == null ? null : PageCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Response.error(ex.getMessage()));
+        }
+        int pageSize = limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        return mockEmployeeService
+                .page(pageCursor, pageSize)
+                .map(page -> ResponseEntity.ok(Response.page(
+                        page.employees(),
+                        page.version(),
+                        page.hasMore() ? new PageCursor(page.version(), page.nextSlot()).encode() : null)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error("Cursor has expired. Restart from the first page.")));
+    }
+
+    /**
+     * Streams every employee of one store version as newline-delimited JSON, one object per line, without the
+     * {@link Response} envelope. Rows are serialized straight into the response stream rather than built into one
+     * body. They are not flushed one by one: the stream sends them each time its buffer fills, and the rest at the end.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(WebRequest webRequest) {
+        Version version = mockEmployeeService.snapshot();
+        String etag = mockEmployeeService.etag(version);
+        // Streaming bodies bypass the ResponseEntity conditional check, so answer If-None-Match here.
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper
+                    .getFactory()
+                    .createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.setRootValueSeparator(null);
+                for (MockEmployee employee : version.employees()) {
+                    writer.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .eTag(etag)
+                .header(STORE_VERSION_HEADER, String.valueOf(version.number()))
+                .header(STORE_EPOCH_HEADER, mockEmployeeService.epoch())
+                .body(body);
+    }
+
+    /**
+     * Creates and deletes after store version {@code since}, oldest first, up to {@code limit} of them. The response
+     * version is the store version a client has caught up to once it applied them; a full page means more may follow.
+     * Answers 410 once the change log no longer reaches back to {@code since}, or when {@code epoch} belongs to an
+     * earlier run of the store, and the client has to reload the full listing.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<List<EmployeeChange>>> getChanges(
+            @RequestParam(name = "since") long since,
+            @RequestParam(name = "epoch", required = false) String epoch,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        Version version = mockEmployeeService.snapshot();
+        if (epoch != null && !epoch.equals(mockEmployeeService.epoch())) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(Response.error("Store has restarted since that version. Reload the full listing."));
+        }
+        int pageSize = limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        return mockEmployeeService
+                .changesSince(since, version, pageSize)
+                .map(changes -> ResponseEntity.ok()
+                        .header(STORE_EPOCH_HEADER, mockEmployeeService.epoch())
+                        .body(Response.page(
+                                changes,
+                                // Versions are numbered by change, so this is the version once the last change has
+                                // been applied, even if the log has not yet caught up with the newest write.
+                                changes.isEmpty() ? since : changes.get(changes.size() - 1).sequence(),
+                                null)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error(
+                                "Changes since that version are no longer kept. Reload the full listing.")));
+    }
+
+    /**
+     * Server-sent events for every create and delete from now on, or from just after {@code Last-Event-ID} when a
+     * client resumes. See {@link ChangeEventBroadcaster} for the event format.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return changeEventBroadcaster.subscribe(lastEventId);
     }
 
+    /**
+     * Employees matching every given filter, one page at a time: oldest first, or by salary or age when a narrow range
+     * on that field drives the search. Filters are answered from the store's secondary indexes, see
+     * {@link com.reliaquest.server.store.MockEmployeeStore#search}. Pages read the live store, so a search cursor never
+     * expires, and employees created while paging may appear on later pages.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Response<List<MockEmployee>>> searchEmployees(
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "minSalary", required = false) Integer minSalary,
+            @RequestParam(name = "maxSalary", required = false) Integer maxSalary,
+            @RequestParam(name = "minAge", required = false) Integer minAge,
+            @RequestParam(name = "maxAge", required = false) Integer maxAge,
+            @RequestParam(name = "title", required = false) String title,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        final SearchCursor searchCursor;
+        try {
+            searchCursor = cursor == null ? null : SearchCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Response.error(ex.getMessage()));
+        }
+        int pageSize = limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        SearchPage page = mockEmployeeService.search(
+                new EmployeeQuery(name, minSalary, maxSalary, minAge, maxAge, title), searchCursor, pageSize);
+        return ResponseEntity.ok(Response.page(
+                page.employees(), page.hasMore() ? page.next().encode() : null));
+    }
+
+    /**
+     * Employee count and minimum, maximum and average salary, answered from the store's indexes without reading the
+     * listing. Tagged like the listing.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Response<EmployeeStats>> getStats() {
+        Version version = mockEmployeeService.snapshot();
+        return ResponseEntity.ok()
+                .eTag(mockEmployeeService.etag(version))
+                .header(STORE_VERSION_HEADER, String.valueOf(version.number()))
+                .body(Response.handledWith(mockEmployeeService.stats(version)));
+    }
+
+    /**
+     * The {@code limit} highest-paid employees, highest first, read from the salary index.
+     */
+    @GetMapping("/top-earners")
+    public ResponseEntity<Response<List<MockEmployee>>> getTopEarners(
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        String etag = mockEmployeeService.etag(mockEmployeeService.snapshot());
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        return ResponseEntity.ok().eTag(etag).body(Response.handledWith(mockEmployeeService.topEarners(size)));
+    }
+
+    /**
+     * Tagged with the store version read before the lookup, so the tag only repeats while the store is unchanged.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+        String etag = mockEmployeeService.etag(mockEmployeeService.snapshot());
         return mockEmployeeService
                 .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .map(employee -> ResponseEntity.ok().eTag(etag).body(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    /**
+     * Looks up many employees in one call. Ids with no employee are left out of the result, so callers match results
+     * to ids by {@code id}.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployeesByIds(@RequestBody List<UUID> uuids) {
+        if (uuids.isEmpty() || uuids.size() > maxBatchSize) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("A lookup must hold between 1 and " + maxBatchSize + " ids."));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.findAllById(uuids)));
+    }
+
     @PostMapping()
     public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /**
+     * Creates every employee in the list or none of them. Each item is validated on its own; if any is invalid the
+     * response is 400 with a result per item naming the problems, and nothing is stored. Otherwise each result carries
+     * the created employee, in request order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<BatchResult<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.isEmpty() || inputs.size() > maxBatchSize) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("A batch must hold between 1 and " + maxBatchSize + " employees."));
+        }
+        List<BatchResult<MockEmployee>> results = new ArrayList<>(inputs.size());
+        boolean rejected = false;
+        for (int index = 0; index < inputs.size(); index++) {
+            CreateMockEmployeeInput input = inputs.get(index);
+            String problem = input == null ? "Item is missing." : describe(validator.validate(input));
+            if (problem != null) {
+                rejected = true;
+                results.add(BatchResult.rejected(index, problem));
+            } else {
+                results.add(new BatchResult<>(index, null, null));
+            }
+        }
+        if (rejected) {
+            return ResponseEntity.badRequest().body(Response.error(results, "Invalid items; nothing was created."));
+        }
+        List<MockEmployee> created = mockEmployeeService.createAll(inputs);
+        for (int index = 0; index < created.size(); index++) {
+            results.set(index, BatchResult.ok(index, created.get(index)));
+        }
+        return ResponseEntity.ok(Response.handledWith(results));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    private static String describe(Set<ConstraintViolation<CreateMockEmployeeInput>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 }
@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome for the item at {@code index} of a batch request: the stored employee, or why the item was rejected.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult<T>(int index, T data, String error) {
+
+    public static <T> BatchResult<T> ok(int index, T data) {
+        return new BatchResult<>(index, data, null);
+    }
+
+    public static <T> BatchResult<T> rejected(int index, String error) {
+        return new BatchResult<>(index, null, error);
+    }
+}
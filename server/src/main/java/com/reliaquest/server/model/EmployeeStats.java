@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Employee count and salary aggregates. The salary figures are absent when there are no employees.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeStats(int count, Integer minSalary, Integer maxSalary, Double averageSalary) {}
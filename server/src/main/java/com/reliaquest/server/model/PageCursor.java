@@ -0,0 +1,37 @@
+package com.reliaquest.server.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import lombok.NonNull;
+
+/**
+ * Position in a paged listing: the store version being paged and the slot the next page starts at. Clients see it
+ * only as an opaque string.
+ */
+public record PageCursor(long version, int slot) {
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((version + ":" + slot).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code cursor} was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(@NonNull String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = decoded.indexOf(':');
+            PageCursor pageCursor = new PageCursor(
+                    Long.parseLong(decoded.substring(0, separator)),
+                    Integer.parseInt(decoded.substring(separator + 1)));
+            if (pageCursor.version() < 0 || pageCursor.slot() < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return pageCursor;
+        } catch (IndexOutOfBoundsException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
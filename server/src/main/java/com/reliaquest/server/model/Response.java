@@ -5,18 +5,39 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import lombok.Getter;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public record Response<T>(T data, Status status, String error) {
+public record Response<T>(T data, Status status, String error, Long version, String cursor) {
 
     public static <T> Response<T> handled() {
-        return new Response<>(null, Status.HANDLED, null);
+        return new Response<>(null, Status.HANDLED, null, null, null);
     }
 
     public static <T> Response<T> handledWith(T data) {
-        return new Response<>(data, Status.HANDLED, null);
+        return new Response<>(data, Status.HANDLED, null, null, null);
+    }
+
+    /**
+     * A page of a listing taken from store {@code version}; {@code cursor} is absent on the last page.
+     */
+    public static <T> Response<T> page(T data, long version, String cursor) {
+        return new Response<>(data, Status.HANDLED, null, version, cursor);
+    }
+
+    /**
+     * A page of a result read from the live store rather than one version; {@code cursor} is absent on the last page.
+     */
+    public static <T> Response<T> page(T data, String cursor) {
+        return new Response<>(data, Status.HANDLED, null, null, cursor);
     }
 
     public static <T> Response<T> error(String error) {
-        return new Response<>(null, Status.ERROR, error);
+        return new Response<>(null, Status.ERROR, error, null, null);
+    }
+
+    /**
+     * A failed request that still reports details, such as which items of a batch were rejected.
+     */
+    public static <T> Response<T> error(T data, String error) {
+        return new Response<>(data, Status.ERROR, error, null, null);
     }
 
     public enum Status {
@@ -0,0 +1,61 @@
+package com.reliaquest.server.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+import lombok.NonNull;
+
+/**
+ * Position in a search: the index the search walks and the last entry it returned from it. Searches in insertion order
+ * resume after a store position; searches driven by the salary or age index resume after a value and, among equal
+ * values, a store position. Clients see it only as an opaque string.
+ */
+public record SearchCursor(@NonNull Order order, int value, long after) {
+
+    public enum Order {
+        POSITION,
+        SALARY,
+        AGE
+    }
+
+    public static SearchCursor position(long after) {
+        return new SearchCursor(Order.POSITION, 0, after);
+    }
+
+    public String encode() {
+        String plain = order == Order.POSITION
+                ? "s:" + after
+                : "s:" + order.name().toLowerCase(Locale.ROOT) + ":" + value + ":" + after;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code cursor} was not produced by {@link #encode()}
+     */
+    public static SearchCursor decode(@NonNull String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!decoded.startsWith("s:")) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            String[] parts = decoded.substring(2).split(":", -1);
+            SearchCursor searchCursor;
+            if (parts.length == 1) {
+                searchCursor = position(Long.parseLong(parts[0]));
+            } else if (parts.length == 3 && ("salary".equals(parts[0]) || "age".equals(parts[0]))) {
+                searchCursor = new SearchCursor(
+                        Order.valueOf(parts[0].toUpperCase(Locale.ROOT)),
+                        Integer.parseInt(parts[1]),
+                        Long.parseLong(parts[2]));
+            } else {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            if (searchCursor.after() < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return searchCursor;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of a {@link MockEmployee} shared by the log and snapshot files. Strings are length-prefixed
+ * UTF-8 and nullable fields carry a presence marker.
+ */
+final class EmployeeCodec {
+
+    private static final int ABSENT = -1;
+
+    private EmployeeCodec() {}
+
+    static int size(MockEmployee employee) {
+        return 16 + size(employee.getName()) + 5 + 5 + size(employee.getTitle()) + size(employee.getEmail());
+    }
+
+    static void write(ByteBuffer buffer, MockEmployee employee) {
+        buffer.putLong(employee.getId().getMostSignificantBits());
+        buffer.putLong(employee.getId().getLeastSignificantBits());
+        putString(buffer, employee.getName());
+        putInteger(buffer, employee.getSalary());
+        putInteger(buffer, employee.getAge());
+        putString(buffer, employee.getTitle());
+        putString(buffer, employee.getEmail());
+    }
+
+    static MockEmployee read(ByteBuffer buffer) {
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        String name = getString(buffer);
+        Integer salary = getInteger(buffer);
+        Integer age = getInteger(buffer);
+        String title = getString(buffer);
+        String email = getString(buffer);
+        return new MockEmployee(id, name, salary, age, title, email);
+    }
+
+    private static int size(String value) {
+        return 4 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(ABSENT);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == ABSENT) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putInteger(ByteBuffer buffer, Integer value) {
+        buffer.put((byte) (value == null ? 0 : 1));
+        buffer.putInt(value == null ? 0 : value);
+    }
+
+    private static Integer getInteger(ByteBuffer buffer) {
+        boolean present = buffer.get() != 0;
+        int value = buffer.getInt();
+        return present ? value : null;
+    }
+}
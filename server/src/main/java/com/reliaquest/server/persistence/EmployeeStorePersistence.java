@@ -0,0 +1,165 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.Version;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes a {@link MockEmployeeStore} survive restarts.
+ *
+ * <p>Every write is appended to the {@link WriteAheadLog} as one record before the store publishes it. Snapshots are
+ * taken on an interval and on shutdown. A snapshot is written from an immutable store version, so writers keep going
+ * while it is written. Taking one rolls the log to a new segment, and segments and snapshots it makes redundant are
+ * deleted. On startup the newest snapshot is mapped and loaded, then the log after it is replayed. Both phases are
+ * timed.
+ */
+@Slf4j
+public class EmployeeStorePersistence implements Closeable {
+
+    private final Path directory;
+    private final WriteAheadLog writeAheadLog;
+    private final FsyncPolicy fsyncPolicy;
+    private final Duration fsyncInterval;
+    private final Duration snapshotInterval;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "store-persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private MockEmployeeStore store;
+    private long snapshotVersion = -1;
+
+    @Getter
+    private Duration snapshotLoadTime = Duration.ZERO;
+
+    @Getter
+    private Duration replayTime = Duration.ZERO;
+
+    @Getter
+    private long replayedChanges;
+
+    public EmployeeStorePersistence(
+            Path directory,
+            int segmentSize,
+            FsyncPolicy fsyncPolicy,
+            Duration fsyncInterval,
+            Duration snapshotInterval) {
+        this.directory = directory;
+        this.writeAheadLog = new WriteAheadLog(directory, segmentSize, fsyncPolicy);
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Recovers the store from disk, or seeds it from {@code seed} when nothing has been persisted yet, and starts
+     * logging its changes.
+     */
+    public MockEmployeeStore open(Supplier<List<MockEmployee>> seed) throws IOException {
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+        var snapshot = SnapshotFile.readLatest(directory);
+        if (snapshot.isPresent()) {
+            store = new MockEmployeeStore(snapshot.get().employees(), snapshot.get().version());
+            snapshotVersion = snapshot.get().version();
+        } else {
+            store = new MockEmployeeStore(seed.get());
+        }
+        long loaded = System.nanoTime();
+        replayedChanges = WriteAheadLog.replay(directory, store.current().number(), store::apply);
+        long replayed = System.nanoTime();
+        snapshotLoadTime = Duration.ofNanos(loaded - started);
+        replayTime = Duration.ofNanos(replayed - loaded);
+        log.info(
+                "Recovered {} employees at version {} in {} ms: snapshot {} ({} ms), {} logged changes ({} ms)",
+                store.size(),
+                store.current().number(),
+                (replayed - started) / 1_000_000,
+                snapshot.isPresent() ? snapshotVersion : "none",
+                snapshotLoadTime.toMillis(),
+                replayedChanges,
+                replayTime.toMillis());
+
+        writeAheadLog.open(store.current().number());
+        store.addWriteAheadListener(writeAheadLog::append);
+        if (snapshot.isEmpty()) {
+            // Seeded data exists nowhere else yet.
+            snapshot();
+        }
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            long interval = fsyncInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(writeAheadLog::sync, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        long interval = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        return store;
+    }
+
+    /**
+     * Writes the current version to a snapshot unless nothing changed since the last one.
+     */
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            Version version = store.current();
+            if (version.number() == snapshotVersion) {
+                return;
+            }
+            long started = System.nanoTime();
+            // A write racing with this snapshot may land in either segment; replay skips whatever the snapshot holds.
+            long nextSequence = writeAheadLog.roll();
+            // Writing the snapshot also forces the directory, and with it the new segment, before anything is deleted.
+            Path written = SnapshotFile.write(directory, version);
+            snapshotVersion = version.number();
+            if (nextSequence - 1 == version.number()) {
+                for (Path path : writeAheadLog.segmentsBefore(nextSequence)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            for (Path path : SnapshotFile.snapshots(directory)) {
+                if (!path.equals(written)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            log.info(
+                    "Wrote snapshot of {} employees at version {} in {} ms",
+                    version.count(),
+                    version.number(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        if (store != null) {
+            snapshot();
+        }
+        writeAheadLog.close();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to write store snapshot", ex);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.server.persistence;
+
+/**
+ * When appended log records are forced to disk.
+ */
+public enum FsyncPolicy {
+    /** Before the write that produced the record returns. No acknowledged write is ever lost. */
+    ALWAYS,
+    /** On a fixed interval. A crash loses at most one interval of writes. */
+    INTERVAL,
+    /** Whenever the operating system writes back the mapped pages. */
+    NEVER
+}
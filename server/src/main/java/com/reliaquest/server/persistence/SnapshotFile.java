@@ -0,0 +1,131 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.Version;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Full copy of one store version: {@code [magic][version][count][crc32c]} followed by the encoded employees. A snapshot
+ * is written to a temporary file, forced and then renamed into place, and the rename is forced with the directory, so a
+ * crash leaves either the old or the new snapshot and never a partial one. It is read back through a read-only mapping,
+ * which limits a snapshot to 2 GB.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x454D5053; // "EMPS"
+    private static final int HEADER = 4 + 8 + 4 + 4;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".dat";
+
+    private SnapshotFile() {}
+
+    record Contents(long version, List<MockEmployee> employees) {}
+
+    static Path write(Path directory, Version version) throws IOException {
+        List<MockEmployee> employees = version.employees();
+        long total = HEADER;
+        for (MockEmployee employee : employees) {
+            total += EmployeeCodec.size(employee);
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of version " + version.number() + " needs " + total
+                    + " bytes, more than the " + Integer.MAX_VALUE + " a single mapping can hold");
+        }
+        int size = (int) total;
+        Path target = directory.resolve(PREFIX + String.format("%020d", version.number()) + SUFFIX);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.position(HEADER);
+            for (MockEmployee employee : employees) {
+                EmployeeCodec.write(buffer, employee);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(HEADER, size - HEADER));
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(4, version.number());
+            buffer.putInt(12, employees.size());
+            buffer.putInt(16, (int) crc.getValue());
+            buffer.force();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(directory);
+        return target;
+    }
+
+    /**
+     * Forces the entries of {@code directory}, so files created or renamed in it survive a crash.
+     */
+    static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException ex) {
+            // Windows cannot open a directory as a channel, so there the entries are left to the file system.
+        }
+    }
+
+    /**
+     * The newest snapshot in {@code directory} that passes its checksum.
+     */
+    static Optional<Contents> readLatest(Path directory) throws IOException {
+        List<Path> snapshots = snapshots(directory);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Optional<Contents> contents = read(snapshots.get(i));
+            if (contents.isPresent()) {
+                return contents;
+            }
+        }
+        return Optional.empty();
+    }
+
+    static List<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Optional<Contents> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) {
+                return Optional.empty();
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(HEADER, buffer.limit() - HEADER));
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(16) != (int) crc.getValue()) {
+                return Optional.empty();
+            }
+            long version = buffer.getLong(4);
+            int count = buffer.getInt(12);
+            List<MockEmployee> employees = new ArrayList<>(count);
+            buffer.position(HEADER);
+            for (int i = 0; i < count; i++) {
+                employees.add(EmployeeCodec.read(buffer));
+            }
+            return Optional.of(new Contents(version, employees));
+        }
+    }
+}
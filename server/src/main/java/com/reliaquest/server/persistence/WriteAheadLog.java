@@ -0,0 +1,264 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.store.EmployeeChange;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of store changes in memory-mapped, fixed-size segment files.
+ *
+ * <p>A segment is named after the sequence of its first change. Each record holds the changes of one store write, as
+ * {@code [length][crc32c]} followed by one {@code [sequence][type][employee]} entry per change, so a batch is either
+ * wholly in the log or not at all. Unwritten space in a segment is zero, so a zero length marks the end of the log,
+ * and a checksum mismatch marks a record torn by a crash. Replay stops at either one.
+ */
+@Slf4j
+final class WriteAheadLog implements Closeable {
+
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER = 4 + 4;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Path segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private boolean dirty;
+    private long lastSequence;
+
+    WriteAheadLog(Path directory, int segmentSize, FsyncPolicy fsyncPolicy) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * Replays every intact change after {@code afterSequence}, oldest first, and returns how many were replayed.
+     */
+    static long replay(Path directory, long afterSequence, Consumer<EmployeeChange> consumer) throws IOException {
+        long replayed = 0;
+        for (Path segment : segments(directory)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                while (true) {
+                    List<EmployeeChange> changes = next(buffer);
+                    if (changes == null) {
+                        break;
+                    }
+                    for (EmployeeChange change : changes) {
+                        if (change.sequence() > afterSequence) {
+                            consumer.accept(change);
+                            replayed++;
+                        }
+                    }
+                }
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Continues the newest segment after its last intact record, or starts a new one if there is none.
+     * {@code lastSequence} is the store version recovery ended at.
+     */
+    void open(long lastSequence) throws IOException {
+        lock.lock();
+        try {
+            this.lastSequence = lastSequence;
+            List<Path> existing = segments(directory);
+            if (existing.isEmpty()) {
+                map(segmentPath(lastSequence + 1));
+                return;
+            }
+            map(existing.get(existing.size() - 1));
+            while (next(buffer) != null) {
+                // Skip to the end of the intact records.
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the changes of one store write as a single record.
+     */
+    void append(List<EmployeeChange> changes) {
+        long first = changes.get(0).sequence();
+        long last = changes.get(changes.size() - 1).sequence();
+        int payload = 0;
+        for (EmployeeChange change : changes) {
+            payload += 8 + 1 + EmployeeCodec.size(change.employee());
+        }
+        if (HEADER + payload + 4 > segmentSize) {
+            throw new IllegalStateException("Changes " + first + " to " + last + " do not fit in a log segment");
+        }
+        lock.lock();
+        try {
+            // Keep room for the zero length that terminates the segment.
+            if (buffer.remaining() < HEADER + payload + 4) {
+                roll();
+            }
+            int start = buffer.position();
+            buffer.position(start + HEADER);
+            for (EmployeeChange change : changes) {
+                buffer.putLong(change.sequence());
+                buffer.put((byte) change.type().ordinal());
+                EmployeeCodec.write(buffer, change.employee());
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(start + HEADER, payload));
+            buffer.putInt(start + 4, (int) crc.getValue());
+            // Terminate the log after this record, over whatever a torn write may have left there.
+            buffer.putInt(start + HEADER + payload, 0);
+            // The length goes in last, so a reader never sees a length without its record.
+            buffer.putInt(start, payload);
+            buffer.position(start + HEADER + payload);
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                try {
+                    buffer.force(start, HEADER + payload + 4);
+                } catch (UncheckedIOException ex) {
+                    // The store does not publish a rejected write and reuses its sequences, so it must not replay.
+                    buffer.putInt(start, 0);
+                    buffer.position(start);
+                    throw ex;
+                }
+            } else {
+                dirty = true;
+            }
+            lastSequence = last;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append changes " + first + " to " + last, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces records appended since the last sync to disk.
+     */
+    void sync() {
+        lock.lock();
+        try {
+            if (dirty) {
+                buffer.force();
+                dirty = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new segment and returns the sequence of the first change that will go into it.
+     */
+    long roll() throws IOException {
+        lock.lock();
+        try {
+            closeSegment();
+            map(segmentPath(lastSequence + 1));
+            return lastSequence + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Segments holding only changes before {@code sequence}, given that {@code sequence} starts a segment.
+     */
+    List<Path> segmentsBefore(long sequence) throws IOException {
+        Path boundary = segmentPath(sequence);
+        return segments(directory).stream()
+                .filter(path -> path.compareTo(boundary) < 0)
+                .toList();
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closeSegment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void map(Path path) throws IOException {
+        segment = path;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, channel.size()));
+        log.debug("Appending store changes to {}", path);
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            dirty = false;
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Reads the changes in the record at the buffer's position and advances past it, or returns null at the end of the
+     * intact log and leaves the position where the next record should go.
+     */
+    private static List<EmployeeChange> next(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER) {
+            return null;
+        }
+        int payload = buffer.getInt(start);
+        if (payload <= 0 || payload > buffer.remaining() - HEADER) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + HEADER, payload));
+        if ((int) crc.getValue() != buffer.getInt(start + 4)) {
+            log.warn("Ignoring torn log record at offset {}", start);
+            return null;
+        }
+        int end = start + HEADER + payload;
+        buffer.position(start + HEADER);
+        List<EmployeeChange> changes = new ArrayList<>(1);
+        while (buffer.position() < end) {
+            long sequence = buffer.getLong();
+            EmployeeChange.Type type = EmployeeChange.Type.values()[buffer.get()];
+            changes.add(new EmployeeChange(sequence, type, EmployeeCodec.read(buffer)));
+        }
+        buffer.position(end);
+        return changes;
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(PREFIX + String.format("%020d", firstSequence) + SUFFIX);
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
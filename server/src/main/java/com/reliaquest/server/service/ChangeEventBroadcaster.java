@@ -0,0 +1,279 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.store.ChangeLog;
+import com.reliaquest.server.store.EmployeeChange;
+import com.reliaquest.server.store.MockEmployeeStore;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed creates and deletes to server-sent-event subscribers.
+ *
+ * <p>Writers only signal that something changed once their write is published. A single dispatcher thread then reads
+ * the new changes from the {@link ChangeLog} and queues them for every subscriber in order, so a slow client never
+ * holds up a write. Each subscriber has its own bounded queue, written out by a sender thread of its own while it has
+ * events waiting, so a client that stops reading only stalls its own stream. Once it falls {@code maxPending} events
+ * behind it is dropped, and it resumes from its last event id when it reconnects. Each event id is
+ * {@code <epoch>-<sequence>}. A subscriber that reconnects with {@code Last-Event-ID} is
+ * sent the changes it missed before it rejoins the live stream. If the change log no longer reaches back that far, or
+ * the id is from an earlier run of the store, it gets a {@code resync} event instead. Subscribers also get a comment
+ * line every {@code heartbeat} so that idle connections stay open and dead ones are noticed.
+ */
+@Slf4j
+@Component
+public class ChangeEventBroadcaster {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private final ChangeLog changeLog;
+    private final MockEmployeeStore mockEmployeeStore;
+    private final Duration timeout;
+    private final int maxSubscribers;
+    private final int maxPending;
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Writes to the client connections. Each subscriber has at most one sender task at a time.
+    private final ExecutorService sender = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "change-events-send");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean broadcastQueued = new AtomicBoolean();
+
+    // Dispatcher-thread only.
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private long broadcastUpTo;
+
+    public ChangeEventBroadcaster(
+            ChangeLog changeLog,
+            MockEmployeeStore mockEmployeeStore,
+            @Value("${mock.events.heartbeat:15s}") Duration heartbeat,
+            @Value("${mock.events.timeout:30m}") Duration timeout,
+            @Value("${mock.events.max-subscribers:100}") int maxSubscribers,
+            @Value("${mock.events.max-pending:1024}") int maxPending) {
+        this.changeLog = changeLog;
+        this.mockEmployeeStore = mockEmployeeStore;
+        this.timeout = timeout;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+        this.broadcastUpTo = mockEmployeeStore.current().number();
+        long heartbeatMillis = heartbeat.toMillis();
+        dispatcher.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            subscriber.close(null);
+        }
+        sender.shutdown();
+    }
+
+    /**
+     * Opens a stream that starts after {@code lastEventId}, or with the next change when it is null.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        attach(emitter, lastEventId);
+        return emitter;
+    }
+
+    void attach(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter);
+        Runnable unsubscribe = () -> dispatcher.execute(() -> {
+            subscriber.closed = true;
+            subscribers.remove(subscriber);
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+        dispatcher.execute(() -> register(subscriber, lastEventId));
+    }
+
+    /**
+     * Signals that a write has been published. Signals that arrive while a broadcast is queued are folded into it.
+     */
+    public void changed() {
+        if (broadcastQueued.compareAndSet(false, true)) {
+            dispatcher.execute(this::broadcast);
+        }
+    }
+
+    private void register(Subscriber subscriber, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            log.debug("Rejecting change event subscriber, {} already connected", subscribers.size());
+            subscriber.close(null);
+            return;
+        }
+        if (lastEventId != null) {
+            // A backlog that would not fit in the queue is cheaper to reload than to replay.
+            Optional<List<EmployeeChange>> missed = sequenceOf(lastEventId)
+                    .flatMap(sequence -> changeLog.since(sequence, broadcastUpTo, Integer.MAX_VALUE))
+                    .filter(changes -> changes.size() <= maxPending);
+            if (missed.isPresent()) {
+                for (EmployeeChange change : missed.get()) {
+                    if (!subscriber.offer(changeEvent(change))) {
+                        return;
+                    }
+                }
+            } else if (!subscriber.offer(resyncEvent())) {
+                return;
+            }
+        }
+        subscribers.add(subscriber);
+    }
+
+    private void broadcast() {
+        broadcastQueued.set(false);
+        long published = mockEmployeeStore.current().number();
+        if (published == broadcastUpTo) {
+            return;
+        }
+        Optional<List<EmployeeChange>> changes = changeLog.since(broadcastUpTo, published, Integer.MAX_VALUE);
+        if (changes.isEmpty()) {
+            // More changes than the log holds went by between two broadcasts.
+            broadcastUpTo = published;
+            sendToAll(this::resyncEvent);
+            return;
+        }
+        // The log may not have the newest write yet; that writer's own signal broadcasts it.
+        for (EmployeeChange change : changes.get()) {
+            broadcastUpTo = change.sequence();
+            sendToAll(() -> changeEvent(change));
+        }
+    }
+
+    private void heartbeat() {
+        sendToAll(() -> SseEmitter.event().comment("heartbeat"));
+    }
+
+    /**
+     * Event builders accumulate their output as they are sent, so every subscriber gets one of its own.
+     */
+    private void sendToAll(Supplier<SseEmitter.SseEventBuilder> event) {
+        Iterator<Subscriber> iterator = subscribers.iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().offer(event.get())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder changeEvent(EmployeeChange change) {
+        return SseEmitter.event()
+                .id(eventId(change.sequence()))
+                .name(change.type().name().toLowerCase(Locale.ROOT))
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private SseEmitter.SseEventBuilder resyncEvent() {
+        return SseEmitter.event().id(eventId(broadcastUpTo)).name(RESYNC_EVENT);
+    }
+
+    private String eventId(long sequence) {
+        return changeLog.epoch() + "-" + sequence;
+    }
+
+    /**
+     * One client's stream. The dispatcher queues its events and a sender task writes them out, so only the sender
+     * thread ever blocks on the connection.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(maxPending);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues {@code event} without blocking. False if the subscriber is gone or so far behind that it is dropped.
+         */
+        boolean offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return false;
+            }
+            if (!pending.offer(event)) {
+                log.debug("Dropping change event subscriber that is {} events behind", maxPending);
+                close(new IOException("Subscriber fell " + maxPending + " events behind"));
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+            return true;
+        }
+
+        /**
+         * Ends the stream, with {@code error} if there is one. The emitter is completed on a sender thread, since it
+         * waits for any write still blocked on the connection.
+         */
+        void close(Exception error) {
+            closed = true;
+            pending.clear();
+            sender.execute(() -> {
+                if (error == null) {
+                    emitter.complete();
+                } else {
+                    emitter.completeWithError(error);
+                }
+            });
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException ex) {
+                        log.debug("Dropping change event subscriber: {}", ex.getMessage());
+                        closed = true;
+                        emitter.completeWithError(ex);
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared found the drain still running.
+            } while (!closed && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+
+    private Optional<Long> sequenceOf(String eventId) {
+        String prefix = changeLog.epoch() + "-";
+        if (!eventId.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(eventId.substring(prefix.length())));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -3,12 +3,24 @@ package com.reliaquest.server.service;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeStats;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.PageCursor;
+import com.reliaquest.server.model.SearchCursor;
+import com.reliaquest.server.store.ChangeLog;
+import com.reliaquest.server.store.EmployeeChange;
+import com.reliaquest.server.store.EmployeeQuery;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.Page;
+import com.reliaquest.server.store.SearchPage;
+import com.reliaquest.server.store.SortedIntIndex;
+import com.reliaquest.server.store.Version;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,14 +34,102 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final ChangeLog changeLog;
+
+    private final ChangeEventBroadcaster changeEventBroadcaster;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.findAll();
+    }
+
+    /**
+     * The current store version, for reads that need the employees and the version number to agree.
+     */
+    public Version snapshot() {
+        return mockEmployeeStore.current();
+    }
+
+    /**
+     * Identifies this run of the store. Sequence numbers from another epoch do not describe this store's history.
+     */
+    public String epoch() {
+        return changeLog.epoch();
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code sequence} that are part of {@code version}. Empty once the change log
+     * no longer reaches back to {@code sequence}; the caller then has to start over from a full listing.
+     */
+    public Optional<List<EmployeeChange>> changesSince(long sequence, Version version, int limit) {
+        return changeLog.since(sequence, version.number(), limit);
+    }
+
+    /**
+     * Strong entity tag for anything read from {@code version}. It changes with every write to the store.
+     */
+    public String etag(Version version) {
+        return "\"" + changeLog.epoch() + "-" + version.number() + "\"";
+    }
+
+    /**
+     * Starts paging from the current store version when {@code cursor} is null. Empty once the cursor's version has
+     * been released.
+     */
+    public Optional<Page> page(PageCursor cursor, int limit) {
+        if (cursor == null) {
+            return Optional.of(mockEmployeeStore.firstPage(limit));
+        }
+        return mockEmployeeStore.nextPage(cursor.version(), cursor.slot(), limit);
+    }
+
+    /**
+     * Count and average come from {@code version}. Minimum and maximum come from the salary index, which a write in
+     * progress may already have reached.
+     */
+    public EmployeeStats stats(@NonNull Version version) {
+        int count = version.count();
+        if (count == 0) {
+            return new EmployeeStats(0, null, null, null);
+        }
+        SortedIntIndex bySalary = mockEmployeeStore.bySalary();
+        return new EmployeeStats(
+                count,
+                orNull(bySalary.min()),
+                orNull(bySalary.max()),
+                (double) version.salaryTotal() / count);
+    }
+
+    /**
+     * The {@code limit} highest-paid employees, highest first. Equal salaries are in the order the employees were
+     * added.
+     */
+    public List<MockEmployee> topEarners(int limit) {
+        return mockEmployeeStore.bySalary().highest(limit);
+    }
+
+    /**
+     * One page of the employees matching {@code query}, starting at the beginning when {@code cursor} is null.
+     */
+    public SearchPage search(@NonNull EmployeeQuery query, SearchCursor cursor, int limit) {
+        return mockEmployeeStore.search(query, cursor, limit);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
+    }
+
+    /**
+     * Every employee matching one of {@code uuids}, once each, in the order of its first id. Unknown ids are skipped.
+     */
+    public List<MockEmployee> findAllById(@NonNull Collection<UUID> uuids) {
+        return uuids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(mockEmployeeStore::findById)
+                .flatMap(Optional::stream)
+                .toList();
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +137,36 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        mockEmployeeStore.add(mockEmployee);
+        changeEventBroadcaster.changed();
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates every employee in {@code inputs} in one atomic store write, returned in input order.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        List<MockEmployee> mockEmployees = inputs.stream()
+                .map(input -> MockEmployee.from(
+                        ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase()),
+                        input))
+                .toList();
+        mockEmployeeStore.addAll(mockEmployees);
+        changeEventBroadcaster.changed();
+        log.debug("Added {} employees in one batch", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
-        }
+        final var mockEmployee = mockEmployeeStore.removeByName(input.getName());
+        mockEmployee.ifPresent(employee -> changeEventBroadcaster.changed());
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
 
-        return false;
+    private static Integer orNull(OptionalInt value) {
+        return value.isPresent() ? value.getAsInt() : null;
     }
 }
@@ -0,0 +1,87 @@
+package com.reliaquest.server.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-memory log of the most recent store changes, for clients that catch up by applying deltas.
+ *
+ * <p>Register it as a store listener, which only sees committed changes. It is told of a write just after the store
+ * publishes it, so a reader may briefly find the newest version's changes missing. Changes are kept in a ring buffer
+ * indexed by sequence, so reading the changes after a given sequence costs {@code O(changes)}. Once the ring wraps, the
+ * oldest changes are overwritten and readers that are further behind are told to resynchronize from a full listing.
+ *
+ * <p>Sequence numbers restart when an unpersisted store is regenerated, so each log also carries a random epoch that
+ * readers pass back to tell this run's history from an earlier one.
+ */
+public class ChangeLog implements Consumer<EmployeeChange> {
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final EmployeeChange[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Sequence of the newest recorded change; every change after oldest - 1 up to it is in the ring.
+    private long newest;
+    private long oldest;
+
+    /**
+     * @param startSequence the store version the log starts at; changes after it are recorded
+     */
+    public ChangeLog(int capacity, long startSequence) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Change log capacity must be positive");
+        }
+        this.ring = new EmployeeChange[capacity];
+        this.newest = startSequence;
+        this.oldest = startSequence + 1;
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    @Override
+    public void accept(EmployeeChange change) {
+        lock.lock();
+        try {
+            if (change.sequence() != newest + 1) {
+                throw new IllegalStateException(
+                        "Change " + change.sequence() + " does not follow " + newest + " in the change log");
+            }
+            ring[slot(change.sequence())] = change;
+            newest = change.sequence();
+            oldest = Math.max(oldest, newest - ring.length + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code sequence}, in order, and none past {@code upTo} or the newest change
+     * recorded so far. Empty if changes right after {@code sequence} have already been overwritten, or if
+     * {@code sequence} lies beyond {@code upTo}.
+     */
+    public Optional<List<EmployeeChange>> since(long sequence, long upTo, int limit) {
+        lock.lock();
+        try {
+            if (sequence < oldest - 1 || sequence > upTo) {
+                return Optional.empty();
+            }
+            long last = Math.min(Math.min(upTo, newest), sequence + limit);
+            List<EmployeeChange> changes = new ArrayList<>((int) Math.max(0, last - sequence));
+            for (long next = sequence + 1; next <= last; next++) {
+                changes.add(ring[slot(next)]);
+            }
+            return Optional.of(changes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) Math.floorMod(sequence, (long) ring.length);
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import lombok.NonNull;
+
+/**
+ * One committed write. {@code sequence} is the number of the store version the write produced, so changes are numbered
+ * without gaps.
+ */
+public record EmployeeChange(long sequence, @NonNull Type type, @NonNull MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Locale;
+
+/**
+ * Filters for {@link MockEmployeeStore#search}; a null field does not filter. Names match on a case-insensitive
+ * substring and titles on case-insensitive equality. Ranges include both bounds and may be open on either side.
+ */
+public record EmployeeQuery(
+        String nameContains, Integer minSalary, Integer maxSalary, Integer minAge, Integer maxAge, String title) {
+
+    public EmployeeQuery {
+        nameContains = nameContains == null ? null : nameContains.toLowerCase(Locale.ROOT);
+    }
+
+    boolean filtersSalary() {
+        return minSalary != null || maxSalary != null;
+    }
+
+    boolean filtersAge() {
+        return minAge != null || maxAge != null;
+    }
+
+    boolean matches(MockEmployee employee) {
+        return (nameContains == null
+                        || (employee.getName() != null
+                                && employee.getName().toLowerCase(Locale.ROOT).contains(nameContains)))
+                && within(employee.getSalary(), minSalary, maxSalary)
+                && within(employee.getAge(), minAge, maxAge)
+                && (title == null || title.equalsIgnoreCase(employee.getTitle()));
+    }
+
+    private static boolean within(Integer value, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null && (min == null || value >= min) && (max == null || value <= max);
+    }
+}
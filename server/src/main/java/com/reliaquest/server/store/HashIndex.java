@@ -0,0 +1,60 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Employees grouped by the case-folded value of one string field, for equality filters. Each group is keyed by store
+ * position, so it can be walked in insertion order from any point. Like {@link SortedIntIndex}, readers never lock and
+ * only the store's writer changes it.
+ */
+final class HashIndex {
+
+    private final Function<MockEmployee, String> field;
+    private final Map<String, ConcurrentSkipListMap<Long, MockEmployee>> groups = new ConcurrentHashMap<>();
+
+    HashIndex(Function<MockEmployee, String> field) {
+        this.field = field;
+    }
+
+    /**
+     * Live view of the employees whose field equals {@code value} ignoring case, by store position.
+     */
+    NavigableMap<Long, MockEmployee> get(String value) {
+        NavigableMap<Long, MockEmployee> group = groups.get(fold(value));
+        return group == null ? Collections.emptyNavigableMap() : group;
+    }
+
+    void add(long position, MockEmployee employee) {
+        String value = field.apply(employee);
+        if (value != null) {
+            groups.computeIfAbsent(fold(value), key -> new ConcurrentSkipListMap<>())
+                    .put(position, employee);
+        }
+    }
+
+    void remove(long position, MockEmployee employee) {
+        String value = field.apply(employee);
+        if (value == null) {
+            return;
+        }
+        String key = fold(value);
+        ConcurrentSkipListMap<Long, MockEmployee> group = groups.get(key);
+        if (group != null) {
+            group.remove(position);
+            if (group.isEmpty()) {
+                groups.remove(key, group);
+            }
+        }
+    }
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Seeded, parallel bulk generator for mock employees.
+ *
+ * <p>Datafaker is only used up front, to sample small pools of names, titles and user names from a seeded
+ * {@link Faker}. Employees are then assembled from those pools in fixed-size chunks across the common fork-join pool.
+ * Each chunk draws from its own {@link SplittableRandom}, seeded from the generator seed and the chunk index, and
+ * writes into its own slice of the result. The output therefore depends only on the seed and locale, not on how the
+ * chunks were scheduled.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 4096;
+    private static final int NAME_POOL_SIZE = 1024;
+    private static final int TITLE_POOL_SIZE = 512;
+    private static final int USER_NAME_POOL_SIZE = 2048;
+
+    private final long seed;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] titles;
+    private final String[] userNames;
+
+    public MockEmployeeGenerator(long seed, Locale locale) {
+        this.seed = seed;
+        Faker faker = new Faker(locale, new Random(seed));
+        this.firstNames = pool(NAME_POOL_SIZE, () -> faker.name().firstName());
+        this.lastNames = pool(NAME_POOL_SIZE, () -> faker.name().lastName());
+        this.titles = pool(TITLE_POOL_SIZE, () -> faker.job().title());
+        this.userNames = pool(USER_NAME_POOL_SIZE, () -> faker.twitter().userName().toLowerCase(locale));
+    }
+
+    /**
+     * Picks a random seed when {@code seed} is null. The seed in use is logged with every generated dataset.
+     */
+    public static MockEmployeeGenerator withSeed(Long seed, Locale locale) {
+        return new MockEmployeeGenerator(seed != null ? seed : RandomGenerator.getDefault().nextLong(), locale);
+    }
+
+    public List<MockEmployee> generate(int count) {
+        long started = System.nanoTime();
+        MockEmployee[] employees = new MockEmployee[count];
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> fill(employees, chunk));
+        long elapsedNanos = Math.max(1, System.nanoTime() - started);
+        log.info(
+                "Generated {} employees in {} ms ({} per second) from seed {}",
+                count,
+                elapsedNanos / 1_000_000,
+                (long) (count * 1e9 / elapsedNanos),
+                seed);
+        if (log.isTraceEnabled()) {
+            Arrays.stream(employees).forEach(employee -> log.trace("Created employee: {}", employee));
+        }
+        return Arrays.asList(employees);
+    }
+
+    private void fill(MockEmployee[] employees, int chunk) {
+        SplittableRandom random = new SplittableRandom(mix(seed + chunk * 0x9E3779B97F4A7C15L));
+        int from = chunk * CHUNK_SIZE;
+        int to = Math.min(employees.length, from + CHUNK_SIZE);
+        for (int i = from; i < to; i++) {
+            employees[i] = new MockEmployee(
+                    uuid(random),
+                    pick(firstNames, random) + " " + pick(lastNames, random),
+                    random.nextInt(30000, 500000),
+                    random.nextInt(16, 70),
+                    pick(titles, random),
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(pick(userNames, random) + random.nextInt(10_000)));
+        }
+    }
+
+    private static String pick(String[] pool, SplittableRandom random) {
+        return pool[random.nextInt(pool.length)];
+    }
+
+    /**
+     * A version 4 UUID whose random bits come from {@code random} rather than {@code SecureRandom}.
+     */
+    private static UUID uuid(SplittableRandom random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static String[] pool(int size, Supplier<String> sampler) {
+        String[] pool = new String[size];
+        for (int i = 0; i < size; i++) {
+            pool[i] = sampler.get();
+        }
+        return pool;
+    }
+
+    // SplitMix64 finalizer, so neighbouring chunk seeds do not give correlated streams.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
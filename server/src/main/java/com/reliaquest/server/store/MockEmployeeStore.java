@@ -0,0 +1,413 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.SearchCursor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * Multi-version, thread-safe in-memory employee store.
+ *
+ * <p>Every write publishes a new immutable {@link Version} with a single volatile store. Readers take the current
+ * version without locking and keep a consistent view however many writes follow, so a list response can never be torn
+ * by a concurrent create or delete. Versions share structure through {@link PersistentSlots}, which makes a write
+ * cost {@code O(log n)} instead of a copy of the whole list.
+ *
+ * <p>Point lookups go through a concurrent hash map keyed by id. Salary and age are indexed by {@link SortedIntIndex}
+ * and title by a {@link HashIndex}, and every employee also gets a store position that only grows, so searches can
+ * walk employees in insertion order and resume from a position. These read indexes are updated by the writer just
+ * before it publishes, so they may run a write ahead of {@link #current()}. Writers are serialized by a lock and are
+ * the only users of the slot and case-folded name indexes, which let a delete by name find its slot without a scan.
+ */
+public class MockEmployeeStore {
+
+    // Versions that paging cursors may still refer to. Older ones are released and their cursors expire.
+    static final int RETAINED_VERSIONS = 16;
+
+    private final Map<UUID, MockEmployee> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, MockEmployee> byPosition = new ConcurrentSkipListMap<>();
+    private final SortedIntIndex bySalary = new SortedIntIndex(MockEmployee::getSalary);
+    private final SortedIntIndex byAge = new SortedIntIndex(MockEmployee::getAge);
+    private final HashIndex byTitle = new HashIndex(MockEmployee::getTitle);
+    // Writer-only state, guarded by writeLock.
+    private final Map<UUID, Integer> slotById = new HashMap<>();
+    private final Map<UUID, Long> positionById = new HashMap<>();
+    private long nextPosition;
+    private final Map<String, Deque<UUID>> idsByName = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentSkipListMap<Long, Version> retained = new ConcurrentSkipListMap<>();
+
+    private final List<Consumer<List<EmployeeChange>>> writeAheadListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<EmployeeChange>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Version current;
+
+    public MockEmployeeStore(Collection<MockEmployee> employees) {
+        this(employees, 0);
+    }
+
+    /**
+     * Starts from {@code employees} as they were at store version {@code version}, e.g. when restoring a snapshot.
+     */
+    public MockEmployeeStore(Collection<MockEmployee> employees, long version) {
+        List<MockEmployee> seed = new ArrayList<>(employees);
+        current = new Version(
+                version,
+                PersistentSlots.of(seed),
+                seed.size(),
+                seed.stream().mapToLong(MockEmployeeStore::salaryOf).sum());
+        for (int slot = 0; slot < seed.size(); slot++) {
+            index(seed.get(slot), slot);
+        }
+    }
+
+    /**
+     * The latest published version. Holding on to it keeps a stable snapshot.
+     */
+    public Version current() {
+        return current;
+    }
+
+    /**
+     * Pages through the current version, which is retained so that later pages can be served from the same snapshot.
+     */
+    public Page firstPage(int limit) {
+        Version version = current;
+        retained.put(version.number(), version);
+        while (retained.size() > RETAINED_VERSIONS) {
+            retained.pollFirstEntry();
+        }
+        return version.page(0, limit);
+    }
+
+    /**
+     * Continues paging through a retained version, or returns empty once that version has been released.
+     */
+    public Optional<Page> nextPage(long version, int fromSlot, int limit) {
+        Version latest = current;
+        Version pinned = version == latest.number() ? latest : retained.get(version);
+        return pinned == null ? Optional.empty() : Optional.of(pinned.page(fromSlot, limit));
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Employees ordered by salary.
+     */
+    public SortedIntIndex bySalary() {
+        return bySalary;
+    }
+
+    /**
+     * Up to {@code limit} employees matching {@code query}, continuing from {@code after} (null to start at the
+     * beginning). This reads the live indexes rather than a pinned version. A search that pages across writes therefore
+     * never skips or repeats an employee that was present throughout.
+     *
+     * <p>The first page picks the index to walk and the cursor keeps it for the pages after. A title filter walks that
+     * title's group and name-only queries walk all employees, both in the order they were added. Otherwise the narrower
+     * of the salary and age ranges is walked, in value order and then the order they were added, as long as it holds
+     * fewer than a quarter of the employees; wider ranges walk all employees. Each page resumes its walk from the
+     * cursor and stops once it is full, so it costs {@code O(log n)} plus the entries it visits.
+     */
+    public SearchPage search(@NonNull EmployeeQuery query, SearchCursor after, int limit) {
+        SearchCursor.Order order = after != null ? after.order() : order(query);
+        if (order == SearchCursor.Order.SALARY) {
+            return page(query, rangeOf(bySalary, query.minSalary(), query.maxSalary(), after), order, limit);
+        }
+        if (order == SearchCursor.Order.AGE) {
+            return page(query, rangeOf(byAge, query.minAge(), query.maxAge(), after), order, limit);
+        }
+        long position = after == null ? -1 : after.after();
+        NavigableMap<Long, MockEmployee> candidates = query.title() != null
+                ? byTitle.get(query.title()).tailMap(position, false)
+                : byPosition.tailMap(position, false);
+        List<MockEmployee> page = new ArrayList<>(Math.min(limit, 64));
+        long last = position;
+        for (Map.Entry<Long, MockEmployee> candidate : candidates.entrySet()) {
+            if (!query.matches(candidate.getValue())) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new SearchPage(page, SearchCursor.position(last));
+            }
+            page.add(candidate.getValue());
+            last = candidate.getKey();
+        }
+        return new SearchPage(page, null);
+    }
+
+    public List<MockEmployee> findAll() {
+        return current.employees();
+    }
+
+    public int size() {
+        return current.count();
+    }
+
+    public void add(@NonNull MockEmployee employee) {
+        addAll(List.of(employee));
+    }
+
+    /**
+     * Adds {@code employees} in order as one atomic write: readers see either none or all of them. Each still gets its
+     * own change sequence, and the published version is numbered after the last one. Write-ahead listeners see the
+     * whole batch at once, so if one rejects it, none of the employees is added and no other listener hears of them.
+     */
+    public void addAll(@NonNull List<MockEmployee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Version version = current;
+            long number = version.number();
+            List<EmployeeChange> changes = new ArrayList<>(employees.size());
+            for (MockEmployee employee : employees) {
+                changes.add(new EmployeeChange(++number, EmployeeChange.Type.CREATED, employee));
+            }
+            writeAhead(changes);
+            PersistentSlots<MockEmployee> slots = version.slots();
+            int count = version.count();
+            long salaryTotal = version.salaryTotal();
+            for (MockEmployee employee : employees) {
+                Integer previous = slotById.get(employee.getId());
+                if (previous != null) {
+                    MockEmployee replaced = slots.get(previous);
+                    slots = slots.set(previous, null);
+                    count--;
+                    salaryTotal -= salaryOf(replaced);
+                    unindex(replaced);
+                }
+                index(employee, slots.size());
+                slots = slots.append(employee);
+                count++;
+                salaryTotal += salaryOf(employee);
+            }
+            publish(number, slots, count, salaryTotal);
+            notifyListeners(changes);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the oldest employee whose name matches {@code name} ignoring case.
+     */
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        writeLock.lock();
+        try {
+            Deque<UUID> ids = idsByName.get(fold(name));
+            return ids == null ? Optional.empty() : Optional.of(remove(ids.peekFirst()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Re-applies a change read back from durable storage. It must be the change that follows the current version.
+     */
+    public void apply(@NonNull EmployeeChange change) {
+        writeLock.lock();
+        try {
+            if (change.sequence() != current.number() + 1) {
+                throw new IllegalStateException(
+                        "Change " + change.sequence() + " does not follow version " + current.number());
+            }
+            if (change.type() == EmployeeChange.Type.CREATED) {
+                add(change.employee());
+            } else if (slotById.containsKey(change.employee().getId())) {
+                remove(change.employee().getId());
+            } else {
+                throw new IllegalStateException("Deleted employee " + change.employee().getId() + " is not stored");
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Registers a listener that gets the changes of every write as one list, in order, while the write lock is held and
+     * before the new version is published. A listener that throws aborts the whole write, which is what a write-ahead
+     * log relies on.
+     */
+    public void addWriteAheadListener(@NonNull Consumer<List<EmployeeChange>> listener) {
+        writeAheadListeners.add(listener);
+    }
+
+    /**
+     * Registers a listener that sees every committed change, in order, while the write lock is still held but after
+     * the new version is published. It never hears of a write that a write-ahead listener rejected. It must not throw,
+     * as the write is already visible.
+     */
+    public void addListener(@NonNull Consumer<EmployeeChange> listener) {
+        listeners.add(listener);
+    }
+
+    private MockEmployee remove(UUID id) {
+        Version version = current;
+        int slot = slotById.get(id);
+        MockEmployee employee = version.slots().get(slot);
+        long number = version.number() + 1;
+        List<EmployeeChange> changes = List.of(new EmployeeChange(number, EmployeeChange.Type.DELETED, employee));
+        writeAhead(changes);
+        unindex(employee);
+        publish(
+                number,
+                version.slots().set(slot, null),
+                version.count() - 1,
+                version.salaryTotal() - salaryOf(employee));
+        notifyListeners(changes);
+        return employee;
+    }
+
+    /**
+     * The index a search without a cursor walks: the narrower of the query's salary and age ranges, unless there is a
+     * title filter or every range is too wide to beat walking in insertion order.
+     */
+    private SearchCursor.Order order(EmployeeQuery query) {
+        if (query.title() != null) {
+            return SearchCursor.Order.POSITION;
+        }
+        SearchCursor.Order order = SearchCursor.Order.POSITION;
+        int narrowestSize = current.count() / 4;
+        if (query.filtersSalary()) {
+            int size = countUpTo(rangeOf(bySalary, query.minSalary(), query.maxSalary(), null), narrowestSize);
+            if (size < narrowestSize) {
+                order = SearchCursor.Order.SALARY;
+                narrowestSize = size;
+            }
+        }
+        if (query.filtersAge()) {
+            int size = countUpTo(rangeOf(byAge, query.minAge(), query.maxAge(), null), narrowestSize);
+            if (size < narrowestSize) {
+                order = SearchCursor.Order.AGE;
+            }
+        }
+        return order;
+    }
+
+    private static Collection<SortedIntIndex.Entry> rangeOf(
+            SortedIntIndex index, Integer min, Integer max, SearchCursor after) {
+        return after == null
+                ? index.range(lowerBound(min), upperBound(max))
+                : index.rangeAfter(lowerBound(min), upperBound(max), after.value(), after.after());
+    }
+
+    private static SearchPage page(
+            EmployeeQuery query, Collection<SortedIntIndex.Entry> candidates, SearchCursor.Order order, int limit) {
+        List<MockEmployee> page = new ArrayList<>(Math.min(limit, 64));
+        SortedIntIndex.Entry last = null;
+        for (SortedIntIndex.Entry candidate : candidates) {
+            if (!query.matches(candidate.employee())) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new SearchPage(page, new SearchCursor(order, last.value(), last.position()));
+            }
+            page.add(candidate.employee());
+            last = candidate;
+        }
+        return new SearchPage(page, null);
+    }
+
+    private static int countUpTo(Collection<SortedIntIndex.Entry> range, int limit) {
+        int count = 0;
+        for (Iterator<SortedIntIndex.Entry> iterator = range.iterator(); iterator.hasNext() && count < limit; count++) {
+            iterator.next();
+        }
+        return count;
+    }
+
+    private static int lowerBound(Integer min) {
+        return min == null ? Integer.MIN_VALUE : min;
+    }
+
+    private static int upperBound(Integer max) {
+        return max == null ? Integer.MAX_VALUE : max;
+    }
+
+    private void writeAhead(List<EmployeeChange> changes) {
+        for (Consumer<List<EmployeeChange>> listener : writeAheadListeners) {
+            listener.accept(changes);
+        }
+    }
+
+    private void notifyListeners(List<EmployeeChange> changes) {
+        for (EmployeeChange change : changes) {
+            for (Consumer<EmployeeChange> listener : listeners) {
+                listener.accept(change);
+            }
+        }
+    }
+
+    private void publish(long number, PersistentSlots<MockEmployee> slots, int count, long salaryTotal) {
+        // Once empty slots outnumber live ones, rebuild densely so listing stays proportional to the live count.
+        if (slots.size() - count > Math.max(count, 32)) {
+            List<MockEmployee> live = new ArrayList<>(count);
+            slots.forEach(live::add);
+            slots = PersistentSlots.of(live);
+            for (int slot = 0; slot < live.size(); slot++) {
+                slotById.put(live.get(slot).getId(), slot);
+            }
+        }
+        current = new Version(number, slots, count, salaryTotal);
+    }
+
+    private void index(MockEmployee employee, int slot) {
+        long position = nextPosition++;
+        byId.put(employee.getId(), employee);
+        positionById.put(employee.getId(), position);
+        byPosition.put(position, employee);
+        bySalary.add(position, employee);
+        byAge.add(position, employee);
+        byTitle.add(position, employee);
+        slotById.put(employee.getId(), slot);
+        idsByName.computeIfAbsent(fold(employee.getName()), name -> new ArrayDeque<>()).addLast(employee.getId());
+    }
+
+    private void unindex(MockEmployee employee) {
+        byId.remove(employee.getId(), employee);
+        Long position = positionById.remove(employee.getId());
+        if (position != null) {
+            byPosition.remove(position);
+            bySalary.remove(position, employee);
+            byAge.remove(position, employee);
+            byTitle.remove(position, employee);
+        }
+        slotById.remove(employee.getId());
+        String folded = fold(employee.getName());
+        Deque<UUID> ids = idsByName.get(folded);
+        if (ids != null) {
+            ids.remove(employee.getId());
+            if (ids.isEmpty()) {
+                idsByName.remove(folded);
+            }
+        }
+    }
+
+    private static long salaryOf(MockEmployee employee) {
+        return employee.getSalary() == null ? 0 : employee.getSalary();
+    }
+
+    private static String fold(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * One page of a pinned {@link Version}. {@code nextSlot} is where the following page starts, or {@code -1} after the
+ * last page.
+ */
+public record Page(long version, List<MockEmployee> employees, int nextSlot) {
+
+    public boolean hasMore() {
+        return nextSlot >= 0;
+    }
+}
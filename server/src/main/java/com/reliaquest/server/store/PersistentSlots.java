@@ -0,0 +1,138 @@
+package com.reliaquest.server.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable, indexed array of slots stored as a 32-way trie. {@link #append} and {@link #set} copy only the path from
+ * the root to the changed leaf, so every version shares all untouched nodes with its predecessor and a write costs
+ * {@code O(log32 n)} no matter how many older versions readers still hold.
+ */
+final class PersistentSlots<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentSlots<?> EMPTY = new PersistentSlots<>(0, 0, new Object[WIDTH]);
+
+    private final int size;
+    // Bit offset of the root level; leaves are at shift 0.
+    private final int shift;
+    private final Object[] root;
+
+    private PersistentSlots(int size, int shift, Object[] root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> PersistentSlots<T> empty() {
+        return (PersistentSlots<T>) EMPTY;
+    }
+
+    /**
+     * Builds the trie bottom-up in one pass instead of path-copying once per element.
+     */
+    static <T> PersistentSlots<T> of(List<? extends T> values) {
+        if (values.isEmpty()) {
+            return empty();
+        }
+        List<Object[]> level = new ArrayList<>((values.size() + MASK) >>> BITS);
+        for (int from = 0; from < values.size(); from += WIDTH) {
+            Object[] leaf = new Object[WIDTH];
+            int to = Math.min(values.size(), from + WIDTH);
+            for (int i = from; i < to; i++) {
+                leaf[i - from] = values.get(i);
+            }
+            level.add(leaf);
+        }
+        int shift = 0;
+        while (level.size() > 1) {
+            List<Object[]> parents = new ArrayList<>((level.size() + MASK) >>> BITS);
+            for (int from = 0; from < level.size(); from += WIDTH) {
+                Object[] parent = new Object[WIDTH];
+                int to = Math.min(level.size(), from + WIDTH);
+                for (int i = from; i < to; i++) {
+                    parent[i - from] = level.get(i);
+                }
+                parents.add(parent);
+            }
+            level = parents;
+            shift += BITS;
+        }
+        return new PersistentSlots<>(values.size(), shift, level.get(0));
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        checkIndex(index);
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (T) node[index & MASK];
+    }
+
+    PersistentSlots<T> set(int index, T value) {
+        checkIndex(index);
+        return new PersistentSlots<>(size, shift, assoc(root, shift, index, value));
+    }
+
+    PersistentSlots<T> append(T value) {
+        if (size == capacity()) {
+            Object[] grown = new Object[WIDTH];
+            grown[0] = root;
+            return new PersistentSlots<>(size + 1, shift + BITS, assoc(grown, shift + BITS, size, value));
+        }
+        return new PersistentSlots<>(size + 1, shift, assoc(root, shift, size, value));
+    }
+
+    /**
+     * Visits every non-null slot in index order.
+     */
+    void forEach(Consumer<? super T> action) {
+        forEach(root, shift, 0, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEach(Object[] node, int level, int offset, Consumer<? super T> action) {
+        for (int i = 0; i < WIDTH; i++) {
+            int start = offset + (i << level);
+            if (start >= size) {
+                return;
+            }
+            if (node[i] == null) {
+                continue;
+            }
+            if (level == 0) {
+                action.accept((T) node[i]);
+            } else {
+                forEach((Object[]) node[i], level - BITS, start, action);
+            }
+        }
+    }
+
+    private long capacity() {
+        return 1L << (shift + BITS);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    private static Object[] assoc(Object[] node, int level, int index, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int slot = (index >>> level) & MASK;
+        copy[slot] = level == 0 ? value : assoc((Object[]) copy[slot], level - BITS, index, value);
+        return copy;
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.SearchCursor;
+import java.util.List;
+
+/**
+ * One page of a {@link MockEmployeeStore#search}. {@code next} is where the following page starts, or null after the
+ * last page.
+ */
+public record SearchPage(List<MockEmployee> employees, SearchCursor next) {
+
+    public boolean hasMore() {
+        return next != null;
+    }
+}
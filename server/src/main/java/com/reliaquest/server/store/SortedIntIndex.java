@@ -0,0 +1,113 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Employees ordered by one int field, so that the extremes, the top of the order and value ranges are read without a
+ * scan.
+ *
+ * <p>Entries live in a concurrent skip list that readers walk without locking. Only the store's writer adds and removes
+ * entries, under its write lock, together with its other indexes. Employees with equal values are ordered by the
+ * position the store gave them when they were added. Employees without a value for the field are not indexed.
+ */
+public final class SortedIntIndex {
+
+    private static final Entry LOWEST = new Entry(Integer.MIN_VALUE, Long.MIN_VALUE, null);
+    private static final Entry HIGHEST = new Entry(Integer.MAX_VALUE, Long.MAX_VALUE, null);
+
+    private final Function<MockEmployee, Integer> field;
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>();
+
+    SortedIntIndex(Function<MockEmployee, Integer> field) {
+        this.field = field;
+    }
+
+    public OptionalInt min() {
+        Entry lowest = entries.ceiling(LOWEST);
+        return lowest == null ? OptionalInt.empty() : OptionalInt.of(lowest.value());
+    }
+
+    public OptionalInt max() {
+        Entry highest = entries.floor(HIGHEST);
+        return highest == null ? OptionalInt.empty() : OptionalInt.of(highest.value());
+    }
+
+    /**
+     * Up to {@code limit} employees with the highest values, highest first. Equal values come in the order they were
+     * added. Costs {@code O(limit + distinct values visited * log n)}.
+     */
+    public List<MockEmployee> highest(int limit) {
+        List<MockEmployee> result = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+        Entry below = entries.floor(HIGHEST);
+        while (below != null && result.size() < limit) {
+            int value = below.value();
+            for (Entry entry : range(value, value)) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(entry.employee());
+            }
+            below = entries.lower(new Entry(value, Long.MIN_VALUE, null));
+        }
+        return result;
+    }
+
+    /**
+     * Entries with a value from {@code from} to {@code to}, both inclusive, in value order. This is a live view, so a
+     * write that lands while it is being walked may or may not show up in it.
+     */
+    Collection<Entry> range(int from, int to) {
+        if (from > to) {
+            return List.of();
+        }
+        return entries.subSet(new Entry(from, Long.MIN_VALUE, null), true, new Entry(to, Long.MAX_VALUE, null), true);
+    }
+
+    /**
+     * As {@link #range}, but only the entries that come after value {@code afterValue} at store position
+     * {@code afterPosition}, so that a walk can resume where it stopped in {@code O(log n)}.
+     */
+    Collection<Entry> rangeAfter(int from, int to, int afterValue, long afterPosition) {
+        Entry after = new Entry(afterValue, afterPosition, null);
+        Entry last = new Entry(to, Long.MAX_VALUE, null);
+        if (after.compareTo(new Entry(from, Long.MIN_VALUE, null)) < 0) {
+            return range(from, to);
+        }
+        if (after.compareTo(last) >= 0) {
+            return List.of();
+        }
+        return entries.subSet(after, false, last, true);
+    }
+
+    void add(long position, MockEmployee employee) {
+        Integer value = field.apply(employee);
+        if (value != null) {
+            entries.add(new Entry(value, position, employee));
+        }
+    }
+
+    void remove(long position, MockEmployee employee) {
+        Integer value = field.apply(employee);
+        if (value != null) {
+            entries.remove(new Entry(value, position, null));
+        }
+    }
+
+    /**
+     * Ordered by value, then by store position; the employee takes no part in comparisons.
+     */
+    record Entry(int value, long position, MockEmployee employee) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int byValue = Integer.compare(value, other.value);
+            return byValue != 0 ? byValue : Long.compare(position, other.position);
+        }
+    }
+}
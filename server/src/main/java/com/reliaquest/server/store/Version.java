@@ -0,0 +1,77 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable point-in-time view of the store. Deleted employees leave an empty slot behind until the store compacts,
+ * so {@link #count()} is the number of live employees rather than the number of slots.
+ */
+public final class Version {
+
+    private final long number;
+    private final PersistentSlots<MockEmployee> slots;
+    private final int count;
+    private final long salaryTotal;
+
+    // Built on first read; racing readers build equal lists, so no lock is needed.
+    private volatile List<MockEmployee> employees;
+
+    Version(long number, PersistentSlots<MockEmployee> slots, int count, long salaryTotal) {
+        this.number = number;
+        this.slots = slots;
+        this.count = count;
+        this.salaryTotal = salaryTotal;
+    }
+
+    public long number() {
+        return number;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Sum of the live employees' salaries, kept up to date by every write so averages need no scan.
+     */
+    public long salaryTotal() {
+        return salaryTotal;
+    }
+
+    /**
+     * Live employees in insertion order, as an unmodifiable list that later writes never change.
+     */
+    public List<MockEmployee> employees() {
+        List<MockEmployee> result = employees;
+        if (result == null) {
+            List<MockEmployee> live = new ArrayList<>(count);
+            slots.forEach(live::add);
+            result = Collections.unmodifiableList(live);
+            employees = result;
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} live employees starting at {@code fromSlot}. Slots never move within a version, so paging
+     * through one version visits every employee exactly once.
+     */
+    public Page page(int fromSlot, int limit) {
+        List<MockEmployee> page = new ArrayList<>(Math.min(limit, count));
+        int slot = Math.max(0, fromSlot);
+        while (slot < slots.size() && page.size() < limit) {
+            MockEmployee employee = slots.get(slot++);
+            if (employee != null) {
+                page.add(employee);
+            }
+        }
+        return new Page(number, Collections.unmodifiableList(page), slot < slots.size() ? slot : -1);
+    }
+
+    PersistentSlots<MockEmployee> slots() {
+        return slots;
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Per-client token bucket, implemented as the generic cell rate algorithm (GCRA).
+ *
+ * <p>Each client is identified by {@code clientHeader} when the request carries it, otherwise by its remote address.
+ * Its whole bucket is a single {@link AtomicLong}: the theoretical arrival time (TAT) at which the bucket would be
+ * full again. A request is admitted if it arrives no more than {@code burst} emission intervals before the TAT, and
+ * admitting it moves the TAT one interval later. That is one compare-and-set with no lock and, once a client has been
+ * seen, no allocation.
+ *
+ * <p>Responses carry {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset}. Rejected
+ * requests get a 429 with {@code Retry-After}. Clients whose buckets have refilled are forgotten once the table grows
+ * past {@code maxClients}.
+ */
+public class ClientRateLimitInterceptor implements HandlerInterceptor {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final String clientHeader;
+    private final int burst;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    public ClientRateLimitInterceptor(String clientHeader, double requestsPerSecond, int burst, int maxClients) {
+        this(clientHeader, requestsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    ClientRateLimitInterceptor(
+            String clientHeader, double requestsPerSecond, int burst, int maxClients, LongSupplier nanoClock) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least one");
+        }
+        this.clientHeader = clientHeader;
+        this.burst = burst;
+        this.emissionIntervalNanos = (long) (NANOS_PER_SECOND / requestsPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = nanoClock.getAsLong();
+        String client = clientOf(request);
+        AtomicLong arrival = arrivals.get(client);
+        if (arrival == null) {
+            sweepIfFull(now);
+            arrival = arrivals.computeIfAbsent(client, ignored -> new AtomicLong(now));
+        }
+        while (true) {
+            long tat = arrival.get();
+            long allowAt = tat - toleranceNanos;
+            if (now < allowAt) {
+                long waitNanos = allowAt - now;
+                response.setIntHeader(LIMIT_HEADER, burst);
+                response.setIntHeader(REMAINING_HEADER, 0);
+                response.setIntHeader(RESET_HEADER, seconds(tat - now));
+                response.setIntHeader(HttpHeaders.RETRY_AFTER, seconds(waitNanos));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                return false;
+            }
+            long next = Math.max(tat, now) + emissionIntervalNanos;
+            if (arrival.compareAndSet(tat, next)) {
+                response.setIntHeader(LIMIT_HEADER, burst);
+                response.setIntHeader(
+                        REMAINING_HEADER, (int) Math.floorDiv(now + toleranceNanos - next, emissionIntervalNanos) + 1);
+                response.setIntHeader(RESET_HEADER, seconds(next - now));
+                return true;
+            }
+        }
+    }
+
+    int trackedClients() {
+        return arrivals.size();
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String client = clientHeader == null ? null : request.getHeader(clientHeader);
+        return client != null ? client : request.getRemoteAddr();
+    }
+
+    /**
+     * Drops clients whose buckets are full again, at most once a second and only once the table is over its size.
+     */
+    private void sweepIfFull(long now) {
+        long last = lastSweep.get();
+        if (arrivals.size() < maxClients || now - last < NANOS_PER_SECOND || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        arrivals.values().removeIf(arrival -> arrival.get() <= now);
+    }
+
+    private static int seconds(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE, (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+}
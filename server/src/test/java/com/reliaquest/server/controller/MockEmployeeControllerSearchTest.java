@@ -0,0 +1,62 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.SearchCursor;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.EmployeeQuery;
+import com.reliaquest.server.store.SearchPage;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class MockEmployeeControllerSearchTest {
+
+    private final MockEmployeeService mockEmployeeService = mock(MockEmployeeService.class);
+    private final MockEmployeeController controller =
+            new MockEmployeeController(mockEmployeeService, null, null, null);
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        ResponseEntity<Response<List<MockEmployee>>> response = search("not a cursor!");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(Response.Status.ERROR, response.getBody().status());
+        verifyNoInteractions(mockEmployeeService);
+    }
+
+    @Test
+    void tamperedCursorIsBadRequest() {
+        String tampered = Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString("s:title:3000:12".getBytes(StandardCharsets.US_ASCII));
+
+        ResponseEntity<Response<List<MockEmployee>>> response = search(tampered);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(mockEmployeeService);
+    }
+
+    @Test
+    void validCursorResumesTheSearch() {
+        SearchCursor cursor = new SearchCursor(SearchCursor.Order.SALARY, 3_000, 12);
+        when(mockEmployeeService.search(any(EmployeeQuery.class), eq(cursor), anyInt()))
+                .thenReturn(new SearchPage(List.of(), null));
+
+        ResponseEntity<Response<List<MockEmployee>>> response = search(cursor.encode());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(mockEmployeeService).search(any(EmployeeQuery.class), eq(cursor), anyInt());
+    }
+
+    private ResponseEntity<Response<List<MockEmployee>>> search(String cursor) {
+        return controller.searchEmployees(null, 3_000, 3_000, null, null, null, 10, cursor);
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeCodecTest {
+
+    @Test
+    void roundTripsEveryField() {
+        MockEmployee employee =
+                new MockEmployee(UUID.randomUUID(), "Zoë Ødegård", 120_000, 41, "Engineer", "zoe@company.com");
+
+        assertEquals(employee, roundTrip(employee));
+    }
+
+    @Test
+    void roundTripsAbsentFields() {
+        MockEmployee employee = new MockEmployee(UUID.randomUUID(), null, null, null, null, null);
+
+        assertEquals(employee, roundTrip(employee));
+    }
+
+    @Test
+    void roundTripsEmptyStringsAndZeroes() {
+        MockEmployee employee = new MockEmployee(UUID.randomUUID(), "", 0, 0, "", "");
+
+        assertEquals(employee, roundTrip(employee));
+    }
+
+    private static MockEmployee roundTrip(MockEmployee employee) {
+        ByteBuffer buffer = ByteBuffer.allocate(EmployeeCodec.size(employee));
+        EmployeeCodec.write(buffer, employee);
+        // The size is exact, so records and snapshots can be laid out before they are written.
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        MockEmployee read = EmployeeCodec.read(buffer);
+        assertFalse(buffer.hasRemaining());
+        return read;
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeStorePersistenceTest {
+
+    private static final List<MockEmployee> SEED =
+            List.of(employee("Ada", 90_000), employee("Grace", 110_000), employee("Alan", 80_000));
+
+    @TempDir
+    Path directory;
+
+    @TempDir
+    Path crashed;
+
+    @Test
+    void recoversFromSnapshotAndLogTail() throws IOException {
+        try (EmployeeStorePersistence persistence = persistence(directory)) {
+            MockEmployeeStore store = persistence.open(() -> SEED);
+            store.add(employee("Edsger", 95_000));
+            store.removeByName("grace");
+            store.addAll(List.of(employee("Barbara", 105_000), employee("Donald", 99_000)));
+            // Copy the files as a crash would leave them, before close takes a snapshot.
+            copyFiles(directory, crashed);
+
+            try (EmployeeStorePersistence recovery = persistence(crashed)) {
+                MockEmployeeStore recovered = recovery.open(() -> fail("A persisted store must not be seeded"));
+
+                assertEquals(4, recovery.getReplayedChanges());
+                assertEquals(store.current().number(), recovered.current().number());
+                assertEquals(store.findAll(), recovered.findAll());
+                assertEquals(store.current().salaryTotal(), recovered.current().salaryTotal());
+                assertTrue(recovered.findById(SEED.get(1).getId()).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void recoversFromSnapshotWrittenOnClose() throws IOException {
+        List<MockEmployee> employees;
+        long version;
+        try (EmployeeStorePersistence persistence = persistence(directory)) {
+            MockEmployeeStore store = persistence.open(() -> SEED);
+            store.add(employee("Edsger", 95_000));
+            employees = store.findAll();
+            version = store.current().number();
+        }
+
+        try (EmployeeStorePersistence persistence = persistence(directory)) {
+            MockEmployeeStore recovered = persistence.open(() -> fail("A persisted store must not be seeded"));
+
+            assertEquals(0, persistence.getReplayedChanges());
+            assertEquals(version, recovered.current().number());
+            assertEquals(employees, recovered.findAll());
+        }
+    }
+
+    @Test
+    void snapshotDeletesTheSegmentsAndSnapshotsItCovers() throws IOException {
+        try (EmployeeStorePersistence persistence = persistence(directory)) {
+            MockEmployeeStore store = persistence.open(() -> SEED);
+            assertEquals(List.of("snapshot-00000000000000000000.dat", "wal-00000000000000000001.log"), files());
+
+            store.add(employee("Edsger", 95_000));
+            store.add(employee("Barbara", 105_000));
+            persistence.snapshot();
+
+            assertEquals(List.of("snapshot-00000000000000000002.dat", "wal-00000000000000000003.log"), files());
+        }
+    }
+
+    @Test
+    void snapshotIsSkippedWhenNothingChanged() throws IOException {
+        try (EmployeeStorePersistence persistence = persistence(directory)) {
+            persistence.open(() -> SEED);
+            persistence.snapshot();
+
+            assertEquals(List.of("snapshot-00000000000000000000.dat", "wal-00000000000000000001.log"), files());
+        }
+    }
+
+    private static EmployeeStorePersistence persistence(Path directory) {
+        // Snapshots only when a test asks for one.
+        return new EmployeeStorePersistence(
+                directory, 1 << 16, FsyncPolicy.NEVER, Duration.ofMillis(100), Duration.ofHours(1));
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static void copyFiles(Path from, Path to) throws IOException {
+        try (Stream<Path> files = Files.list(from)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, to.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 35, "Engineer", name + "@company.com");
+    }
+}
@@ -0,0 +1,144 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeChange;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEveryWrittenChangeAfterTheGivenSequence() throws IOException {
+        MockEmployee first = employee("first");
+        MockEmployee second = employee("second");
+        MockEmployee third = employee("third");
+        try (WriteAheadLog log = new WriteAheadLog(directory, SEGMENT_SIZE, FsyncPolicy.NEVER)) {
+            log.open(0);
+            log.append(List.of(created(1, first), created(2, second)));
+            log.append(List.of(deleted(3, first)));
+            log.append(List.of(created(4, third)));
+        }
+
+        assertEquals(List.of(created(2, second), deleted(3, first), created(4, third)), replay(1));
+    }
+
+    @Test
+    void replayAfterRejectedWriteRecoversOnlyPublishedWrites() throws IOException {
+        MockEmployeeStore store = new MockEmployeeStore(List.of());
+        try (WriteAheadLog log = new WriteAheadLog(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS)) {
+            log.open(0);
+            store.addWriteAheadListener(log::append);
+            store.add(employee("before"));
+            // Too large for a segment, so the log rejects it and the store never publishes it.
+            assertThrows(IllegalStateException.class, () -> store.add(employee("x".repeat(SEGMENT_SIZE))));
+            store.add(employee("after"));
+        }
+        assertEquals(2, store.current().number());
+
+        MockEmployeeStore recovered = new MockEmployeeStore(List.of());
+        long replayed = WriteAheadLog.replay(directory, 0, recovered::apply);
+
+        assertEquals(2, replayed);
+        assertEquals(2, recovered.current().number());
+        assertEquals(store.findAll(), recovered.findAll());
+    }
+
+    @Test
+    void tornTailIsIgnoredAndOverwrittenByTheNextAppend() throws IOException {
+        MockEmployee first = employee("first");
+        MockEmployee torn = employee("torn");
+        MockEmployee retried = employee("retried");
+        MockEmployee next = employee("next");
+        try (WriteAheadLog log = new WriteAheadLog(directory, SEGMENT_SIZE, FsyncPolicy.NEVER)) {
+            log.open(0);
+            log.append(List.of(created(1, first)));
+            log.append(List.of(created(2, torn)));
+        }
+        tearSecondRecord(onlySegment());
+
+        assertEquals(List.of(created(1, first)), replay(0));
+
+        try (WriteAheadLog log = new WriteAheadLog(directory, SEGMENT_SIZE, FsyncPolicy.NEVER)) {
+            log.open(1);
+            log.append(List.of(created(2, retried)));
+            log.append(List.of(created(3, next)));
+        }
+
+        assertEquals(List.of(created(1, first), created(2, retried), created(3, next)), replay(0));
+    }
+
+    @Test
+    void rollStartsSegmentAtNextSequence() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory, SEGMENT_SIZE, FsyncPolicy.NEVER)) {
+            log.open(0);
+            log.append(List.of(created(1, employee("first")), created(2, employee("second"))));
+
+            assertEquals(3, log.roll());
+            log.append(List.of(created(3, employee("third"))));
+
+            List<Path> before = log.segmentsBefore(3);
+            assertEquals(1, before.size());
+            assertEquals("wal-00000000000000000001.log", before.get(0).getFileName().toString());
+        }
+        assertEquals(3, replay(0).size());
+    }
+
+    /**
+     * Flips a payload byte of the second record, as a crash part way through writing it would.
+     */
+    private static void tearSecondRecord(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, 0);
+            // Records are [length][crc32c] and then the payload.
+            long offset = 8 + length.flip().getInt() + 8 + 12;
+            ByteBuffer payloadByte = ByteBuffer.allocate(1);
+            channel.read(payloadByte, offset);
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) ~payloadByte.get(0)}), offset);
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+
+    private List<EmployeeChange> replay(long afterSequence) throws IOException {
+        List<EmployeeChange> changes = new ArrayList<>();
+        WriteAheadLog.replay(directory, afterSequence, changes::add);
+        return changes;
+    }
+
+    private static EmployeeChange created(long sequence, MockEmployee employee) {
+        return new EmployeeChange(sequence, EmployeeChange.Type.CREATED, employee);
+    }
+
+    private static EmployeeChange deleted(long sequence, MockEmployee employee) {
+        return new EmployeeChange(sequence, EmployeeChange.Type.DELETED, employee);
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 50_000, 30, "Engineer", name + "@company.com");
+    }
+}
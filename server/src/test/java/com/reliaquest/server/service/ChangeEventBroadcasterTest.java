@@ -0,0 +1,124 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.ChangeLog;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class ChangeEventBroadcasterTest {
+
+    private final MockEmployeeStore store = new MockEmployeeStore(List.of());
+    private final ChangeLog changeLog = new ChangeLog(64, store.current().number());
+    private final StalledEmitter stalled = new StalledEmitter();
+    private ChangeEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        stalled.released.countDown();
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void stalledSubscriberDoesNotHoldUpOthers() throws Exception {
+        broadcaster = broadcaster(16);
+        RecordingEmitter live = new RecordingEmitter();
+        broadcaster.attach(stalled, null);
+        broadcaster.attach(live, null);
+
+        for (int i = 0; i < 3; i++) {
+            add();
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(live.sent.poll(5, TimeUnit.SECONDS), "event " + i + " was not delivered");
+        }
+        assertTrue(stalled.sent.isEmpty());
+        assertFalse(stalled.failed.isDone());
+    }
+
+    @Test
+    void subscriberThatFallsBehindIsDropped() throws Exception {
+        broadcaster = broadcaster(2);
+        RecordingEmitter live = new RecordingEmitter();
+        broadcaster.attach(stalled, null);
+        broadcaster.attach(live, null);
+
+        // At most one event is stuck in the stalled send and two fit in its queue, so the fourth overflows it at the
+        // latest.
+        for (int i = 0; i < 4; i++) {
+            add();
+            assertNotNull(live.sent.poll(5, TimeUnit.SECONDS), "event " + i + " was not delivered");
+        }
+
+        assertInstanceOf(IOException.class, stalled.failed.get(5, TimeUnit.SECONDS));
+        assertFalse(live.failed.isDone());
+    }
+
+    private ChangeEventBroadcaster broadcaster(int maxPending) {
+        store.addListener(changeLog);
+        return new ChangeEventBroadcaster(changeLog, store, Duration.ofHours(1), Duration.ofMinutes(1), 10, maxPending);
+    }
+
+    private void add() {
+        store.add(MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Jill Jenkins")
+                .salary(50_000)
+                .age(30)
+                .title("Engineer")
+                .email("jill@company.com")
+                .build());
+        broadcaster.changed();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        final BlockingQueue<SseEventBuilder> sent = new LinkedBlockingQueue<>();
+        final CompletableFuture<Throwable> failed = new CompletableFuture<>();
+
+        @Override
+        public void send(SseEventBuilder event) throws IOException {
+            sent.add(event);
+        }
+
+        @Override
+        public void complete() {}
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed.complete(ex);
+        }
+    }
+
+    /**
+     * Stands in for a client that has stopped reading: every write blocks until the test ends.
+     */
+    private static final class StalledEmitter extends RecordingEmitter {
+
+        final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder event) throws IOException {
+            try {
+                released.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            super.send(event);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.SearchCursor;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreSearchTest {
+
+    private static final List<String> TITLES = List.of("Engineer", "Manager", "Analyst");
+
+    // 210 employees over 14 salaries, 5 ages and 3 titles, so every walk meets long runs of equal values.
+    private final MockEmployeeStore store = new MockEmployeeStore(employees(210));
+
+    @Test
+    void nameSearchReturnsEveryMatchOnceInInsertionOrder() {
+        EmployeeQuery query = new EmployeeQuery("employee 1", null, null, null, null, null);
+
+        assertEquals(SearchCursor.Order.POSITION, firstCursor(query).order());
+        assertEquals(expected(query), searchAll(query, 4));
+    }
+
+    @Test
+    void titleSearchReturnsEveryMatchOnceInInsertionOrder() {
+        EmployeeQuery query = new EmployeeQuery(null, null, null, null, null, "manager");
+
+        assertEquals(SearchCursor.Order.POSITION, firstCursor(query).order());
+        assertEquals(expected(query), searchAll(query, 7));
+    }
+
+    @Test
+    void salarySearchResumesAcrossEqualSalaries() {
+        // 15 employees share each salary; pages of 4 end part way through the run.
+        EmployeeQuery query = new EmployeeQuery(null, 3_000, 3_000, null, null, null);
+
+        assertEquals(SearchCursor.Order.SALARY, firstCursor(query).order());
+        assertEquals(expected(query), searchAll(query, 4));
+    }
+
+    @Test
+    void salaryRangeSearchReturnsEveryMatchOnceInSalaryOrder() {
+        EmployeeQuery query = new EmployeeQuery(null, 2_000, 3_000, null, 22, null);
+
+        List<MockEmployee> found = searchAll(query, 3);
+
+        assertEquals(SearchCursor.Order.SALARY, firstCursor(query).order());
+        assertEquals(sortedBy(expected(query), MockEmployee::getSalary), found);
+    }
+
+    @Test
+    void ageSearchResumesAcrossEqualAges() {
+        EmployeeQuery query = new EmployeeQuery(null, null, null, 24, 24, null);
+
+        assertEquals(SearchCursor.Order.AGE, firstCursor(query).order());
+        assertEquals(expected(query), searchAll(query, 5));
+    }
+
+    @Test
+    void wideRangeWalksInsertionOrder() {
+        EmployeeQuery query = new EmployeeQuery(null, 0, 5_000, null, null, null);
+
+        assertEquals(SearchCursor.Order.POSITION, firstCursor(query).order());
+        assertEquals(expected(query), searchAll(query, 16));
+    }
+
+    @Test
+    void pageLimitAtMatchCountEndsWithoutCursor() {
+        EmployeeQuery query = new EmployeeQuery(null, 3_000, 3_000, null, null, null);
+
+        SearchPage page = store.search(query, null, expected(query).size());
+
+        assertEquals(expected(query), page.employees());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void writesBetweenPagesNeitherSkipNorRepeatEmployeesPresentThroughout() {
+        EmployeeQuery query = new EmployeeQuery(null, 3_000, 3_000, null, null, null);
+        List<MockEmployee> before = expected(query);
+        SearchPage first = store.search(query, null, 4);
+        assertEquals(before.subList(0, 4), first.employees());
+
+        MockEmployee returned = before.get(1);
+        MockEmployee pending = before.get(10);
+        MockEmployee added = employee(1_000, 3_000, 24, "Engineer");
+        store.removeByName(returned.getName());
+        store.removeByName(pending.getName());
+        store.add(added);
+        // Same salary as the cursor but added later, so it sorts after it.
+        store.add(employee(1_001, 3_000, 24, "Engineer"));
+        // Different salary, never a match.
+        store.add(employee(1_002, 4_000, 24, "Engineer"));
+
+        List<MockEmployee> found = new ArrayList<>(first.employees());
+        SearchCursor cursor = first.next();
+        while (cursor != null) {
+            SearchPage page = store.search(query, cursor, 4);
+            found.addAll(page.employees());
+            cursor = page.next();
+        }
+
+        assertEquals(found.size(), new HashSet<>(found).size());
+        for (MockEmployee employee : before) {
+            if (employee != pending) {
+                assertTrue(found.contains(employee), employee.getName());
+            }
+        }
+        assertFalse(found.contains(pending));
+        assertTrue(found.contains(added));
+        assertEquals(before.size() - 1 + 2, found.size());
+    }
+
+    @Test
+    void cursorSurvivesEncoding() {
+        EmployeeQuery query = new EmployeeQuery(null, 3_000, 3_000, null, null, null);
+        List<MockEmployee> found = new ArrayList<>();
+        String cursor = null;
+        do {
+            SearchPage page = store.search(query, cursor == null ? null : SearchCursor.decode(cursor), 6);
+            found.addAll(page.employees());
+            cursor = page.hasMore() ? page.next().encode() : null;
+        } while (cursor != null);
+
+        assertEquals(expected(query), found);
+    }
+
+    @Test
+    void decodeRejectsMalformedAndTamperedCursors() {
+        EmployeeQuery query = new EmployeeQuery(null, 3_000, 3_000, null, null, null);
+        String valid = firstCursor(query).encode();
+        String plain = new String(Base64.getUrlDecoder().decode(valid), StandardCharsets.US_ASCII);
+
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("p:12")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("s:-1")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("s:12:3")));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode("s:salary:x:3")));
+        assertThrows(
+                IllegalArgumentException.class, () -> SearchCursor.decode(encode(plain.replace("salary", "title"))));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(encode(plain + ":7")));
+        assertEquals(firstCursor(query), SearchCursor.decode(valid));
+    }
+
+    private List<MockEmployee> searchAll(EmployeeQuery query, int limit) {
+        List<MockEmployee> found = new ArrayList<>();
+        SearchCursor cursor = null;
+        int pages = 0;
+        do {
+            SearchPage page = store.search(query, cursor, limit);
+            assertTrue(page.employees().size() <= limit);
+            found.addAll(page.employees());
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+        assertTrue(pages > 1, "the search should span several pages");
+        Set<UUID> ids = new HashSet<>();
+        found.forEach(employee -> assertTrue(ids.add(employee.getId()), "returned twice: " + employee.getName()));
+        return found;
+    }
+
+    private SearchCursor firstCursor(EmployeeQuery query) {
+        return store.search(query, null, 1).next();
+    }
+
+    /**
+     * Every match in insertion order.
+     */
+    private List<MockEmployee> expected(EmployeeQuery query) {
+        return store.findAll().stream().filter(query::matches).toList();
+    }
+
+    private static List<MockEmployee> sortedBy(List<MockEmployee> employees, ToIntFunction<MockEmployee> value) {
+        return employees.stream().sorted(Comparator.comparingInt(value)).toList();
+    }
+
+    private static String encode(String plain) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        List<MockEmployee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(i, 1_000 * (i % 14), 20 + i % 5, TITLES.get(i % 3)));
+        }
+        return employees;
+    }
+
+    private static MockEmployee employee(int number, int salary, int age, String title) {
+        String name = "Employee " + number;
+        return new MockEmployee(UUID.randomUUID(), name, salary, age, title, "employee" + number + "@company.com");
+    }
+}
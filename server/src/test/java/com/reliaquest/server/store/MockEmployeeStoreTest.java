@@ -0,0 +1,78 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    @Test
+    void removeByNameFindsEmployeesMovedByCompaction() {
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(employee(i == 10 || i == 90 ? "Twin" : "Employee " + i));
+        }
+        MockEmployeeStore store = new MockEmployeeStore(employees);
+        List<MockEmployee> expected = new ArrayList<>(employees);
+
+        for (int i = 20; i <= 80; i++) {
+            assertEquals(employees.get(i), store.removeByName("employee " + i).orElseThrow());
+            expected.remove(employees.get(i));
+        }
+        // Compacted once empty slots outnumbered the live ones, which moved every later employee to a new slot.
+        assertTrue(store.current().slots().size() < employees.size());
+        assertEquals(expected, store.findAll());
+
+        assertEquals(employees.get(10), store.removeByName("TWIN").orElseThrow());
+        assertEquals(employees.get(90), store.removeByName("twin").orElseThrow());
+        assertTrue(store.removeByName("twin").isEmpty());
+        assertEquals(employees.get(95), store.removeByName("Employee 95").orElseThrow());
+        MockEmployee added = employee("Employee 95");
+        store.add(added);
+        assertEquals(added, store.removeByName("Employee 95").orElseThrow());
+        expected.remove(employees.get(10));
+        expected.remove(employees.get(90));
+        expected.remove(employees.get(95));
+
+        assertEquals(expected, store.findAll());
+        assertEquals(expected.size(), store.size());
+        assertTrue(store.findById(employees.get(95).getId()).isEmpty());
+        assertEquals(expected.get(expected.size() - 1), store.findById(employees.get(99).getId()).orElseThrow());
+    }
+
+    @Test
+    void compactedVersionPagesLikeTheOneBefore() {
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < 1025; i++) {
+            employees.add(employee("Employee " + i));
+        }
+        MockEmployeeStore store = new MockEmployeeStore(employees);
+        for (int i = 0; i < 1025; i += 3) {
+            store.removeByName("Employee " + i);
+        }
+        for (int i = 1; i < 1025; i += 3) {
+            store.removeByName("Employee " + i);
+        }
+        List<MockEmployee> live = store.findAll();
+        assertEquals(1025 / 3, live.size());
+        assertTrue(store.current().slots().size() < employees.size());
+
+        List<MockEmployee> paged = new ArrayList<>();
+        Page page = store.firstPage(32);
+        paged.addAll(page.employees());
+        while (page.hasMore()) {
+            page = store.nextPage(page.version(), page.nextSlot(), 32).orElseThrow();
+            paged.addAll(page.employees());
+        }
+
+        assertEquals(live, paged);
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 50_000, 30, "Engineer", null);
+    }
+}
@@ -0,0 +1,123 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PersistentSlotsTest {
+
+    // Either side of one full leaf and of one full two-level trie, where the root grows a level.
+    private static final int[] SIZES = {1, 31, 32, 33, 1023, 1024, 1025};
+
+    @Test
+    void appendedSlotsMatchSlotsBuiltAtOnce() {
+        for (int size : SIZES) {
+            PersistentSlots<Integer> appended = appended(size);
+            PersistentSlots<Integer> built = PersistentSlots.of(range(size));
+
+            assertEquals(size, appended.size());
+            assertEquals(size, built.size());
+            for (int i = 0; i < size; i++) {
+                assertEquals(i, appended.get(i), "appended slot " + i + " of " + size);
+                assertEquals(i, built.get(i), "built slot " + i + " of " + size);
+            }
+            assertEquals(range(size), collect(appended));
+            assertEquals(range(size), collect(built));
+        }
+    }
+
+    @Test
+    void appendAfterBuildingGrowsPastBoundary() {
+        for (int size : SIZES) {
+            PersistentSlots<Integer> built = PersistentSlots.of(range(size));
+
+            PersistentSlots<Integer> grown = built.append(size).append(size + 1);
+
+            assertEquals(range(size + 2), collect(grown));
+            assertEquals(size + 1, grown.get(size + 1));
+        }
+    }
+
+    @Test
+    void writesLeaveEarlierVersionsUntouched() {
+        for (int size : SIZES) {
+            PersistentSlots<Integer> before = appended(size);
+
+            PersistentSlots<Integer> appended = before.append(size);
+            PersistentSlots<Integer> cleared = before.set(size - 1, null);
+
+            assertEquals(size, before.size());
+            assertEquals(range(size), collect(before));
+            assertEquals(size, appended.get(size));
+            assertNull(cleared.get(size - 1));
+            assertEquals(size - 1, before.get(size - 1));
+        }
+    }
+
+    @Test
+    void forEachSkipsClearedSlots() {
+        for (int size : SIZES) {
+            PersistentSlots<Integer> slots = PersistentSlots.of(range(size));
+            List<Integer> expected = new ArrayList<>(range(size));
+            for (int index : new int[] {0, 30, 31, 32, 1023, 1024, size - 1}) {
+                if (index < size && slots.get(index) != null) {
+                    slots = slots.set(index, null);
+                    expected.remove(Integer.valueOf(index));
+                }
+            }
+
+            assertEquals(expected, collect(slots), "size " + size);
+        }
+    }
+
+    @Test
+    void forEachSkipsClearedLeaves() {
+        PersistentSlots<Integer> slots = PersistentSlots.of(range(1025));
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1025; i++) {
+            if ((i >= 32 && i < 64) || (i >= 992 && i < 1024)) {
+                slots = slots.set(i, null);
+            } else {
+                expected.add(i);
+            }
+        }
+
+        assertEquals(expected, collect(slots));
+    }
+
+    @Test
+    void rejectsIndexesOutsideTheSlots() {
+        for (int size : SIZES) {
+            PersistentSlots<Integer> slots = PersistentSlots.of(range(size));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> slots.get(size));
+            assertThrows(IndexOutOfBoundsException.class, () -> slots.get(-1));
+            assertThrows(IndexOutOfBoundsException.class, () -> slots.set(size, 0));
+        }
+        assertEquals(List.of(), collect(PersistentSlots.of(List.of())));
+    }
+
+    private static PersistentSlots<Integer> appended(int size) {
+        PersistentSlots<Integer> slots = PersistentSlots.empty();
+        for (int i = 0; i < size; i++) {
+            slots = slots.append(i);
+        }
+        return slots;
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    private static List<Integer> collect(PersistentSlots<Integer> slots) {
+        List<Integer> values = new ArrayList<>();
+        slots.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class VersionTest {
+
+    @Test
+    void pagesVisitEveryLiveEmployeeOnceAcrossLevelBoundaries() {
+        for (int size : new int[] {31, 32, 33, 1023, 1024, 1025}) {
+            List<MockEmployee> employees = employees(size);
+            Version version = version(PersistentSlots.of(employees), size);
+
+            for (int limit : new int[] {1, 31, 32, 33, 1024}) {
+                assertEquals(employees, pageThrough(version, limit), "size " + size + ", limit " + limit);
+            }
+        }
+    }
+
+    @Test
+    void pagesSkipEmptySlots() {
+        List<MockEmployee> employees = employees(1025);
+        PersistentSlots<MockEmployee> slots = PersistentSlots.of(employees);
+        List<MockEmployee> live = new ArrayList<>();
+        for (int slot = 0; slot < employees.size(); slot++) {
+            if (slot % 32 == 31 || (slot >= 64 && slot < 128) || slot == 1024) {
+                slots = slots.set(slot, null);
+            } else {
+                live.add(employees.get(slot));
+            }
+        }
+        Version version = version(slots, live.size());
+
+        for (int limit : new int[] {1, 32, 33, 1000}) {
+            assertEquals(live, pageThrough(version, limit), "limit " + limit);
+        }
+        assertEquals(live, version.employees());
+    }
+
+    @Test
+    void pageEndsAtLastSlot() {
+        Version version = version(PersistentSlots.of(employees(32)), 32);
+
+        Page all = version.page(0, 32);
+        Page tail = version.page(31, 1);
+        Page beyond = version.page(32, 10);
+
+        assertEquals(32, all.employees().size());
+        assertFalse(all.hasMore());
+        assertEquals(1, tail.employees().size());
+        assertFalse(tail.hasMore());
+        assertTrue(beyond.employees().isEmpty());
+        assertFalse(beyond.hasMore());
+        assertEquals(31, version.page(0, 31).nextSlot());
+    }
+
+    private static List<MockEmployee> pageThrough(Version version, int limit) {
+        List<MockEmployee> seen = new ArrayList<>();
+        Page page = version.page(0, limit);
+        seen.addAll(page.employees());
+        while (page.hasMore()) {
+            assertTrue(page.employees().size() <= limit);
+            page = version.page(page.nextSlot(), limit);
+            seen.addAll(page.employees());
+        }
+        return seen;
+    }
+
+    private static Version version(PersistentSlots<MockEmployee> slots, int count) {
+        return new Version(7, slots, count, 0);
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        List<MockEmployee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new MockEmployee(UUID.randomUUID(), "Employee " + i, 50_000, 30, "Engineer", null));
+        }
+        return employees;
+    }
+}
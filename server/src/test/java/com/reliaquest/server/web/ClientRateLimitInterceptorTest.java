@@ -0,0 +1,131 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ClientRateLimitInterceptorTest {
+
+    private static final String CLIENT_HEADER = "X-Client-Id";
+
+    private long now = Duration.ofDays(1).toNanos();
+
+    // One request a second, bursts of three.
+    private final ClientRateLimitInterceptor interceptor =
+            new ClientRateLimitInterceptor(CLIENT_HEADER, 1.0, 3, 100, () -> now);
+
+    @Test
+    void admitsBurstAndCountsDownRemaining() {
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            MockHttpServletResponse response = request("a");
+
+            assertEquals(200, response.getStatus());
+            assertEquals("3", response.getHeader(ClientRateLimitInterceptor.LIMIT_HEADER));
+            assertEquals(String.valueOf(remaining), response.getHeader(ClientRateLimitInterceptor.REMAINING_HEADER));
+        }
+    }
+
+    @Test
+    void rejectsBeyondBurstWithRetryAfter() {
+        request("a");
+        request("a");
+        request("a");
+
+        MockHttpServletResponse response = request("a");
+
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("0", response.getHeader(ClientRateLimitInterceptor.REMAINING_HEADER));
+        assertEquals("3", response.getHeader(ClientRateLimitInterceptor.RESET_HEADER));
+    }
+
+    @Test
+    void retryAfterCoversTheWholeWait() {
+        request("a");
+        request("a");
+        request("a");
+        now += Duration.ofMillis(200).toNanos();
+
+        MockHttpServletResponse response = request("a");
+
+        assertEquals(429, response.getStatus());
+        // 800 ms left, rounded up so that a client waiting that long is admitted.
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void refillsOneRequestPerInterval() {
+        request("a");
+        request("a");
+        request("a");
+
+        now += Duration.ofSeconds(1).toNanos();
+        assertEquals(200, request("a").getStatus());
+        assertEquals(429, request("a").getStatus());
+
+        now += Duration.ofSeconds(10).toNanos();
+        MockHttpServletResponse refilled = request("a");
+        assertEquals(200, refilled.getStatus());
+        assertEquals("2", refilled.getHeader(ClientRateLimitInterceptor.REMAINING_HEADER));
+    }
+
+    @Test
+    void clientsHaveSeparateBuckets() {
+        request("a");
+        request("a");
+        request("a");
+        assertEquals(429, request("a").getStatus());
+
+        MockHttpServletResponse other = request("b");
+        assertEquals(200, other.getStatus());
+        assertEquals("2", other.getHeader(ClientRateLimitInterceptor.REMAINING_HEADER));
+
+        MockHttpServletRequest anonymous = new MockHttpServletRequest();
+        anonymous.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse byAddress = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(anonymous, byAddress, new Object()));
+        assertEquals("2", byAddress.getHeader(ClientRateLimitInterceptor.REMAINING_HEADER));
+    }
+
+    @Test
+    void sweepForgetsRefilledClientsOnceTableIsFull() {
+        ClientRateLimitInterceptor small = new ClientRateLimitInterceptor(CLIENT_HEADER, 1.0, 3, 2, () -> now);
+        request(small, "a");
+        request(small, "b");
+        request(small, "b");
+        request(small, "b");
+        now += Duration.ofSeconds(2).toNanos();
+
+        request(small, "c");
+
+        // a has refilled and is dropped; b is still a second from full and keeps its bucket.
+        assertEquals(2, small.trackedClients());
+        assertEquals("1", request(small, "b").getHeader(ClientRateLimitInterceptor.REMAINING_HEADER));
+    }
+
+    @Test
+    void sweepWaitsUntilTableIsFull() {
+        request("a");
+        now += Duration.ofSeconds(10).toNanos();
+
+        request("b");
+
+        assertEquals(2, interceptor.trackedClients());
+    }
+
+    private MockHttpServletResponse request(String client) {
+        return request(interceptor, client);
+    }
+
+    private static MockHttpServletResponse request(ClientRateLimitInterceptor interceptor, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CLIENT_HEADER, client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        return response;
+    }
+}